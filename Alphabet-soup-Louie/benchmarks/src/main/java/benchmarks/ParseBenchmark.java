@@ -0,0 +1,54 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how fast a puzzle file is parsed. Each grid row takes 2 bytes per column, so a size x size file is about
+ * 2 * size * size bytes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParseBenchmark {
+    @Param({"100", "1000"})
+    public int size;
+
+    private Path file;
+    private Object parser;
+
+    @Setup
+    public void setUp() throws Throwable {
+        char[][] grid = PuzzleData.grid(size);
+        file = Files.createTempFile("benchmark-puzzle", ".txt");
+        PuzzleData.write(file, grid, PuzzleData.mixed(grid, 1000));
+        parser = (Object) Solvers.NEW_PARSER.invokeExact();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public Object parse() throws Throwable {
+        return (Object) Solvers.PARSE.invokeExact(parser, file);
+    }
+}
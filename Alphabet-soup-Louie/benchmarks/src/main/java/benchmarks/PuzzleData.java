@@ -0,0 +1,130 @@
+package benchmarks;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Random puzzle data for the benchmarks. Everything is generated from a fixed seed, so every run and every build
+ * measures the same grids and words.
+ */
+final class PuzzleData {
+    static final long SEED = 42;
+
+    private static final int[] ROW_OFFSETS = {0, 0, -1, 1, -1, -1, 1, 1};
+    private static final int[] COLUMN_OFFSETS = {-1, 1, 0, 0, -1, 1, -1, 1};
+
+    private PuzzleData() {
+    }
+
+    /**
+     * @param size Number of rows and columns.
+     * @return A square grid of random upper-case letters.
+     */
+    static char[][] grid(int size) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        char[][] grid = new char[size][size];
+        for (char[] row : grid) {
+            for (int j = 0; j < size; j++) {
+                row[j] = (char) ('A' + random.nextInt(26));
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * Words read out of the grid in random directions, so every one of them is found.
+     *
+     * @param grid Grid to take the words from.
+     * @param count Number of words.
+     * @return The words.
+     */
+    static List<String> hits(char[][] grid, int count) {
+        SplittableRandom random = new SplittableRandom(SEED + 1);
+        int size = grid.length;
+        List<String> words = new ArrayList<>(count);
+        while (words.size() < count) {
+            int length = Math.min(size, 5 + random.nextInt(6));
+            int direction = random.nextInt(8);
+            int row = random.nextInt(size);
+            int column = random.nextInt(size);
+            int endRow = row + ROW_OFFSETS[direction] * (length - 1);
+            int endColumn = column + COLUMN_OFFSETS[direction] * (length - 1);
+            if (endRow < 0 || endRow >= size || endColumn < 0 || endColumn >= size) {
+                continue;
+            }
+            StringBuilder word = new StringBuilder(length);
+            for (int k = 0; k < length; k++) {
+                word.append(grid[row + ROW_OFFSETS[direction] * k][column + COLUMN_OFFSETS[direction] * k]);
+            }
+            words.add(word.toString());
+        }
+        return words;
+    }
+
+    /**
+     * Random words that are long enough that they are almost never in the grid.
+     *
+     * @param size Number of rows and columns of the grid.
+     * @param count Number of words.
+     * @return The words.
+     */
+    static List<String> misses(int size, int count) {
+        SplittableRandom random = new SplittableRandom(SEED + 2);
+        List<String> words = new ArrayList<>(count);
+        for (int w = 0; w < count; w++) {
+            int length = Math.min(size, 8 + random.nextInt(5));
+            StringBuilder word = new StringBuilder(length);
+            for (int k = 0; k < length; k++) {
+                word.append((char) ('A' + random.nextInt(26)));
+            }
+            words.add(word.toString());
+        }
+        return words;
+    }
+
+    /**
+     * @param grid Grid to take hits from.
+     * @param count Number of words.
+     * @return Half hits and half misses, interleaved.
+     */
+    static List<String> mixed(char[][] grid, int count) {
+        List<String> hits = hits(grid, (count + 1) / 2);
+        List<String> misses = misses(grid.length, count / 2);
+        List<String> words = new ArrayList<>(count);
+        for (int w = 0; w < count; w++) {
+            words.add(w % 2 == 0 ? hits.get(w / 2) : misses.get(w / 2));
+        }
+        return words;
+    }
+
+    /**
+     * Writes a puzzle file in the format described in the README.
+     *
+     * @param file File to write.
+     * @param grid The grid.
+     * @param words The words.
+     */
+    static void write(Path file, char[][] grid, List<String> words) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.US_ASCII)) {
+            writer.write(grid.length + "x" + grid[0].length + "\n");
+            char[] line = new char[grid[0].length * 2];
+            for (char[] row : grid) {
+                for (int j = 0; j < row.length; j++) {
+                    line[2 * j] = row[j];
+                    line[2 * j + 1] = j + 1 < row.length ? ' ' : '\n';
+                }
+                writer.write(line);
+            }
+            for (String word : words) {
+                writer.write(word);
+                writer.write('\n');
+            }
+        }
+    }
+}
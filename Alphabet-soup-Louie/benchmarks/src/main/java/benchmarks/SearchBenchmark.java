@@ -0,0 +1,76 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the latency of searching for one word, through the original searchWord on a 2D character grid, through
+ * findWord on a Grid and through the bit-parallel search of the grid's direction lines. Each call searches for the next
+ * word of a fixed list of hits or misses.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchBenchmark {
+    private static final int WORD_COUNT = 64;
+
+    @Param({"100", "1000"})
+    public int size;
+
+    @Param({"hit", "miss"})
+    public String kind;
+
+    private char[][] chars;
+    private Object grid;
+    private Object buffer;
+    private Object bitParallel;
+    private String[] words;
+    private int next;
+
+    @Setup
+    public void setUp() throws Throwable {
+        chars = PuzzleData.grid(size);
+        grid = (Object) Solvers.GRID_OF.invokeExact(chars);
+        buffer = (Object) Solvers.NEW_BUFFER.invokeExact();
+        bitParallel = (Object) Solvers.NEW_BIT_PARALLEL.invokeExact();
+        List<String> list = kind.equals("hit") ? PuzzleData.hits(chars, WORD_COUNT) : PuzzleData.misses(size, WORD_COUNT);
+        words = list.toArray(new String[0]);
+    }
+
+    private String nextWord() {
+        next = (next + 1) & (WORD_COUNT - 1);
+        return words[next];
+    }
+
+    @Benchmark
+    public long findWord() throws Throwable {
+        Object word = (Object) Solvers.SET_WORD.invokeExact(buffer, nextWord());
+        return (long) Solvers.FIND_WORD.invokeExact(grid, word);
+    }
+
+    @Benchmark
+    public long bitParallel() throws Throwable {
+        Object word = (Object) Solvers.SET_WORD.invokeExact(buffer, nextWord());
+        return (long) Solvers.BIT_PARALLEL_FIND.invokeExact(bitParallel, grid, word);
+    }
+
+    @Benchmark
+    public String searchWordCharGrid() throws Throwable {
+        return (String) Solvers.SEARCH_WORD.invokeExact(chars, nextWord());
+    }
+}
@@ -0,0 +1,48 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time to solve a whole word list, half hits and half misses, with Solver.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SolveBenchmark {
+    @Param({"100", "1000"})
+    public int size;
+
+    @Param({"100", "10000"})
+    public int words;
+
+    private Object solver;
+    private Object puzzle;
+
+    @Setup
+    public void setUp() throws Throwable {
+        char[][] chars = PuzzleData.grid(size);
+        Object grid = (Object) Solvers.GRID_OF.invokeExact(chars);
+        puzzle = (Object) Solvers.NEW_PUZZLE.invokeExact(grid, PuzzleData.mixed(chars, words));
+        solver = (Object) Solvers.NEW_SOLVER.invokeExact();
+    }
+
+    @Benchmark
+    public long[] solve() throws Throwable {
+        return (long[]) Solvers.SOLVE.invokeExact(solver, puzzle);
+    }
+}
@@ -0,0 +1,73 @@
+package benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Handles to the solver API. The solver classes live in the unnamed package, which classes in a named package cannot
+ * refer to, and JMH does not allow benchmarks in the unnamed package. The handles are looked up once and stored in
+ * static final fields, so the JIT treats them as constants and calls through them cost the same as direct calls.
+ */
+final class Solvers {
+    static final MethodHandle GRID_OF;
+    static final MethodHandle NEW_PUZZLE;
+    static final MethodHandle PUZZLE_GRID;
+    static final MethodHandle NEW_PARSER;
+    static final MethodHandle PARSE;
+    static final MethodHandle NEW_BUFFER;
+    static final MethodHandle SET_WORD;
+    static final MethodHandle FIND_WORD;
+    static final MethodHandle SEARCH_WORD;
+    static final MethodHandle NEW_BIT_PARALLEL;
+    static final MethodHandle BIT_PARALLEL_FIND;
+    static final MethodHandle NEW_SOLVER;
+    static final MethodHandle SOLVE;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            Class<?> grid = Class.forName("Grid");
+            Class<?> puzzle = Class.forName("Puzzle");
+            Class<?> parser = Class.forName("PuzzleParser");
+            Class<?> buffer = Class.forName("WordBuffer");
+            Class<?> wordSearch = Class.forName("WordSearch");
+            Class<?> solver = Class.forName("Solver");
+            Class<?> bitParallel = Class.forName("BitParallelSearch");
+
+            GRID_OF = lookup.findStatic(grid, "of", MethodType.methodType(grid, char[][].class))
+                    .asType(MethodType.methodType(Object.class, char[][].class));
+            NEW_PUZZLE = lookup.findConstructor(puzzle, MethodType.methodType(void.class, grid, List.class))
+                    .asType(MethodType.methodType(Object.class, Object.class, List.class));
+            PUZZLE_GRID = lookup.findVirtual(puzzle, "grid", MethodType.methodType(grid))
+                    .asType(MethodType.methodType(Object.class, Object.class));
+            NEW_PARSER = lookup.findConstructor(parser, MethodType.methodType(void.class))
+                    .asType(MethodType.methodType(Object.class));
+            PARSE = lookup.findVirtual(parser, "parse", MethodType.methodType(puzzle, Path.class))
+                    .asType(MethodType.methodType(Object.class, Object.class, Path.class));
+            NEW_BUFFER = lookup.findConstructor(buffer, MethodType.methodType(void.class))
+                    .asType(MethodType.methodType(Object.class));
+            SET_WORD = lookup.findVirtual(buffer, "set", MethodType.methodType(buffer, String.class))
+                    .asType(MethodType.methodType(Object.class, Object.class, String.class));
+            FIND_WORD = lookup.findStatic(wordSearch, "findWord", MethodType.methodType(long.class, grid, buffer))
+                    .asType(MethodType.methodType(long.class, Object.class, Object.class));
+            SEARCH_WORD = lookup.findStatic(wordSearch, "searchWord",
+                    MethodType.methodType(String.class, char[][].class, String.class));
+            NEW_BIT_PARALLEL = lookup.findConstructor(bitParallel, MethodType.methodType(void.class))
+                    .asType(MethodType.methodType(Object.class));
+            BIT_PARALLEL_FIND = lookup.findVirtual(bitParallel, "find", MethodType.methodType(long.class, grid, buffer))
+                    .asType(MethodType.methodType(long.class, Object.class, Object.class, Object.class));
+            NEW_SOLVER = lookup.findConstructor(solver, MethodType.methodType(void.class))
+                    .asType(MethodType.methodType(Object.class));
+            SOLVE = lookup.findVirtual(solver, "find", MethodType.methodType(long[].class, puzzle))
+                    .asType(MethodType.methodType(long[].class, Object.class, Object.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private Solvers() {
+    }
+}
@@ -0,0 +1,214 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * This class solves many puzzle files in one JVM. Files are parsed and solved on a pool of worker threads while the
+ * results of earlier files are written, and at most a fixed number of files are in flight at once, so reading never
+ * runs far ahead of writing. Results are written through one ResultWriter in the order the files were given, whatever
+ * order they finish in.
+ */
+public class BatchSolver {
+    private final Solver solver = new Solver();
+    private final ThreadLocal<PuzzleParser> parsers = ThreadLocal.withInitial(PuzzleParser::new);
+    private final int threads;
+    private final int capacity;
+
+    /**
+     * Creates a batch solver with one worker per available processor.
+     */
+    public BatchSolver() {
+        this(Runtime.getRuntime().availableProcessors(), 4 * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a batch solver.
+     *
+     * @param threads Number of worker threads that parse and solve puzzles.
+     * @param capacity Maximum number of files that are being solved or waiting to be written at once.
+     * @throws IllegalArgumentException If threads or capacity is not positive.
+     */
+    public BatchSolver(int threads, int capacity) {
+        if (threads <= 0 || capacity <= 0) {
+            throw new IllegalArgumentException("Threads and capacity must be positive");
+        }
+        this.threads = threads;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Expands command line arguments into the puzzle files to solve. A directory stands for the regular files in it,
+     * sorted by name, and an argument starting with '@' names a file that lists one puzzle file per line.
+     *
+     * @param arguments Directories, puzzle files and file lists.
+     * @return The puzzle files, in the order they should be solved and written.
+     * @throws IOException If a directory or file list cannot be read.
+     */
+    public static List<Path> listPuzzles(List<String> arguments) throws IOException {
+        List<Path> files = new ArrayList<>();
+        for (String argument : arguments) {
+            if (argument.startsWith("@")) {
+                for (String line : Files.readAllLines(Paths.get(argument.substring(1)))) {
+                    if (!line.trim().isEmpty()) {
+                        files.add(Paths.get(line.trim()));
+                    }
+                }
+            } else if (Files.isDirectory(Paths.get(argument))) {
+                try (Stream<Path> children = Files.list(Paths.get(argument))) {
+                    List<Path> sorted = children.filter(Files::isRegularFile).collect(Collectors.toList());
+                    Collections.sort(sorted);
+                    files.addAll(sorted);
+                }
+            } else {
+                files.add(Paths.get(argument));
+            }
+        }
+        return files;
+    }
+
+    /**
+     * Solves every file and writes the results of each one under a header line with its path. A file that cannot be
+     * read or solved gets an error line instead of results, and the batch carries on.
+     *
+     * @param files Puzzle files to solve.
+     * @param out Destination of the results. It is flushed at the end of the batch.
+     * @return Counts and timing of the batch.
+     * @throws IOException If writing the results fails.
+     */
+    public Summary run(List<Path> files, ResultWriter out) throws IOException {
+        long start = System.nanoTime();
+        int failed = 0;
+        ExecutorService workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "batch-solver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        BlockingQueue<Future<Solved>> pending = new ArrayBlockingQueue<>(capacity);
+        Thread producer = new Thread(() -> {
+            try {
+                for (Path file : files) {
+                    pending.put(CompletableFuture.supplyAsync(() -> solve(file), workers));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "batch-reader");
+        producer.setDaemon(true);
+        producer.start();
+        try {
+            for (Path file : files) {
+                Future<Solved> result = pending.take();
+                out.writeLine("==> " + file + " <==");
+                try {
+                    Solved solved = result.get();
+                    out.write(solved.puzzle, solved.matches);
+                } catch (ExecutionException e) {
+                    out.writeLine("error: " + describe(e.getCause()));
+                    failed++;
+                }
+            }
+            out.flush();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Batch was interrupted", e);
+        } finally {
+            producer.interrupt();
+            workers.shutdownNow();
+        }
+        return new Summary(files.size(), failed, System.nanoTime() - start);
+    }
+
+    /**
+     * Parses and solves one file on a worker thread.
+     *
+     * @param file Puzzle file.
+     * @return The puzzle and its matches.
+     */
+    private Solved solve(Path file) {
+        try {
+            Puzzle puzzle = BinaryPuzzle.isBinary(file) ? BinaryPuzzle.read(file) : parsers.get().parse(file);
+            return new Solved(puzzle, solver.find(puzzle));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @param failure Exception that stopped a file from being solved.
+     * @return Description of the failure for the error line.
+     */
+    private static String describe(Throwable failure) {
+        if (failure instanceof UncheckedIOException) {
+            failure = failure.getCause();
+        }
+        return failure.getMessage() == null ? failure.getClass().getSimpleName()
+                : failure.getClass().getSimpleName() + ": " + failure.getMessage();
+    }
+
+    /**
+     * A puzzle and its matches, waiting to be written.
+     */
+    private static final class Solved {
+        final Puzzle puzzle;
+        final long[] matches;
+
+        Solved(Puzzle puzzle, long[] matches) {
+            this.puzzle = puzzle;
+            this.matches = matches;
+        }
+    }
+
+    /**
+     * Counts and timing of a finished batch.
+     */
+    public static final class Summary {
+        private final int puzzles;
+        private final int failed;
+        private final long nanos;
+
+        Summary(int puzzles, int failed, long nanos) {
+            this.puzzles = puzzles;
+            this.failed = failed;
+            this.nanos = nanos;
+        }
+
+        public int puzzles() {
+            return puzzles;
+        }
+
+        public int failed() {
+            return failed;
+        }
+
+        public long nanos() {
+            return nanos;
+        }
+
+        /**
+         * @return Number of puzzles solved per second.
+         */
+        public double puzzlesPerSecond() {
+            return nanos == 0 ? 0 : puzzles * 1e9 / nanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Solved %d puzzles (%d failed) in %.3f s, %.1f puzzles/sec", puzzles, failed,
+                    nanos / 1e9, puzzlesPerSecond());
+        }
+    }
+}
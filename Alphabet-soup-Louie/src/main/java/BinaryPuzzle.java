@@ -0,0 +1,216 @@
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * This class reads and writes puzzles in a compact binary format, so archived puzzles can be loaded without parsing
+ * text. All numbers are big-endian ints. A file holds, in order:
+ * <ul>
+ *     <li>the magic bytes "WSPZ" and the format version,</li>
+ *     <li>the number of rows, columns and words,</li>
+ *     <li>the grid, one byte per cell in row-major order, holding the same codes as Grid,</li>
+ *     <li>each word as its length in bytes followed by its UTF-8 bytes,</li>
+ *     <li>a CRC32 of everything before it.</li>
+ * </ul>
+ * Files are read by memory-mapping them. Loading is not zero-copy: Grid keeps its cells in its own array with a border
+ * around them, so each row of the grid is copied from the mapped file into the grid, one bulk copy per row. Together
+ * with the pass that checks the CRC32, loading takes time in proportion to the size of the file, but nothing is parsed.
+ * <p>
+ * The CRC32 only catches damaged files, so every copied row is also checked for codes Grid cannot hold. A file that
+ * was edited and given a new checksum could otherwise put a border code inside the grid, which would cut its lines
+ * short, or a code that is out of range for the arrays the searches index by letter.
+ */
+public final class BinaryPuzzle {
+    /**
+     * File name extension of binary puzzle files.
+     */
+    public static final String EXTENSION = ".wspz";
+    public static final int VERSION = 1;
+
+    private static final byte[] MAGIC = {'W', 'S', 'P', 'Z'};
+    private static final int HEADER_SIZE = 20;
+
+    private BinaryPuzzle() {
+    }
+
+    /**
+     * @param file A puzzle file.
+     * @return Boolean of whether the file is named like a binary puzzle file.
+     */
+    public static boolean isBinary(Path file) {
+        Path name = file.getFileName();
+        return name != null && name.toString().endsWith(EXTENSION);
+    }
+
+    /**
+     * Reads a puzzle from a text file in the format described in the README and writes it as a binary file.
+     *
+     * @param textFile The text file that will be read.
+     * @param binaryFile The binary file that will be written. It is replaced if it exists.
+     * @throws IOException If either file cannot be accessed.
+     * @throws IllegalArgumentException If the text file is not a valid puzzle.
+     */
+    public static void convert(Path textFile, Path binaryFile) throws IOException {
+        write(new PuzzleParser().parse(textFile), binaryFile);
+    }
+
+    /**
+     * Writes a puzzle as a binary file.
+     *
+     * @param puzzle The puzzle to write.
+     * @param file The binary file that will be written. It is replaced if it exists.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void write(Puzzle puzzle, Path file) throws IOException {
+        ByteBuffer buffer = encode(puzzle);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * Encodes a puzzle in the binary format.
+     *
+     * @param puzzle The puzzle to encode.
+     * @return Buffer holding the encoded puzzle, positioned at its start.
+     * @throws IllegalArgumentException If the puzzle is too large for one buffer.
+     */
+    public static ByteBuffer encode(Puzzle puzzle) {
+        Grid grid = puzzle.grid();
+        List<byte[]> words = new ArrayList<>(puzzle.words().size());
+        long size = HEADER_SIZE + (long) grid.rows() * grid.columns() + 4;
+        for (String word : puzzle.words()) {
+            byte[] bytes = word.getBytes(StandardCharsets.UTF_8);
+            words.add(bytes);
+            size += 4 + bytes.length;
+        }
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Puzzle is too large for the binary format");
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate((int) size);
+        buffer.put(MAGIC).putInt(VERSION).putInt(grid.rows()).putInt(grid.columns()).putInt(words.size());
+        for (int i = 0; i < grid.rows(); i++) {
+            buffer.put(grid.cells(), grid.index(i, 0), grid.columns());
+        }
+        for (byte[] word : words) {
+            buffer.putInt(word.length).put(word);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.position());
+        buffer.putInt((int) crc.getValue());
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Reads a binary puzzle file by memory-mapping it and copying its grid out of the mapping.
+     *
+     * @param file The binary file that will be read.
+     * @return The puzzle from the file.
+     * @throws IOException If the file cannot be read.
+     * @throws IllegalArgumentException If the file is not a valid binary puzzle or has no words to find.
+     */
+    public static Puzzle read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Binary puzzle file is too large");
+            }
+            return decode(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        }
+    }
+
+    /**
+     * Decodes a puzzle in the binary format. The buffer's position is not changed.
+     *
+     * @param buffer Buffer holding exactly one encoded puzzle between its position and limit.
+     * @return The puzzle that was decoded.
+     * @throws IllegalArgumentException If the buffer does not hold a valid binary puzzle or it has no words to find.
+     */
+    public static Puzzle decode(ByteBuffer buffer) {
+        ByteBuffer input = buffer.slice();
+        if (input.remaining() < HEADER_SIZE + 4) {
+            throw new IllegalArgumentException("Binary puzzle is truncated");
+        }
+        for (byte b : MAGIC) {
+            if (input.get() != b) {
+                throw new IllegalArgumentException("Not a binary puzzle");
+            }
+        }
+        int version = input.getInt();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported binary puzzle version " + version);
+        }
+        checkCrc(input);
+
+        int rows = input.getInt();
+        int columns = input.getInt();
+        int wordCount = input.getInt();
+        if ((long) rows * columns > input.remaining() - 4 || wordCount < 0) {
+            throw new IllegalArgumentException("Binary puzzle is truncated");
+        }
+        Grid grid = new Grid(rows, columns);
+        byte[] cells = grid.cells();
+        for (int i = 0; i < rows; i++) {
+            int index = grid.index(i, 0);
+            input.get(cells, index, columns);
+            for (int j = index; j < index + columns; j++) {
+                if ((cells[j] & 0xff) > Grid.BLANK) {
+                    throw new IllegalArgumentException("Binary puzzle is corrupt: invalid cell at " + i + ":"
+                            + (j - index));
+                }
+            }
+        }
+
+        List<String> words = new ArrayList<>(Math.min(wordCount, input.remaining() / 4));
+        try {
+            for (int w = 0; w < wordCount; w++) {
+                int length = input.getInt();
+                if (length < 0 || length > input.remaining() - 4) {
+                    throw new IllegalArgumentException("Binary puzzle is truncated");
+                }
+                byte[] bytes = new byte[length];
+                input.get(bytes);
+                words.add(new String(bytes, StandardCharsets.UTF_8));
+            }
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Binary puzzle is truncated", e);
+        }
+        if (input.remaining() != 4) {
+            throw new IllegalArgumentException("Binary puzzle has " + (input.remaining() - 4) + " unexpected bytes");
+        }
+        Puzzle puzzle = new Puzzle(grid, words);
+        if (puzzle.words().isEmpty()) {
+            throw new IllegalArgumentException("There are no hidden words to search for");
+        }
+        return puzzle;
+    }
+
+    /**
+     * Checks the CRC32 at the end of the buffer against the bytes before it.
+     *
+     * @param input Buffer holding one encoded puzzle, starting at index 0.
+     * @throws IllegalArgumentException If the checksum does not match.
+     */
+    private static void checkCrc(ByteBuffer input) {
+        int end = input.limit() - 4;
+        ByteBuffer content = input.duplicate();
+        content.position(0).limit(end);
+        CRC32 crc = new CRC32();
+        crc.update(content);
+        if ((int) crc.getValue() != input.getInt(end)) {
+            throw new IllegalArgumentException("Binary puzzle checksum does not match");
+        }
+    }
+}
@@ -0,0 +1,133 @@
+import java.util.Arrays;
+
+/**
+ * This class searches for words with the bit-parallel BNDM algorithm over the direction lines of a grid. The state of
+ * a match is kept with one bit per character of the word in a 64-bit long, which lets the search skip ahead by up to
+ * the length of the word at a time. Each line is scanned for the word and for the word reversed, which covers all 8
+ * directions, and the earliest match in searchWord's order is returned, so the results are the same as searchWord's.
+ * Words longer than 64 characters are searched with findWord instead.
+ * An instance reuses its bit masks from word to word, so it should only be used by one thread at a time.
+ */
+public class BitParallelSearch {
+    private static final int MAX_LENGTH = Long.SIZE;
+
+    private final long[] forwardMasks = new long[Grid.BLANK + 1];
+    private final long[] reverseMasks = new long[Grid.BLANK + 1];
+
+    /**
+     * Searches the grid for the specified word, the same way as searchWord.
+     *
+     * @param grid The grid with scrambled words embedded within it.
+     * @param word Word that is being searched for.
+     * @return String that indicates the starting and ending indices of the word found within the grid.
+     * @throws IllegalArgumentException If it is not possible for the word to exist within the grid.
+     */
+    public static String searchWord(Grid grid, String word) {
+        long match = new BitParallelSearch().find(grid, new WordBuffer().set(word));
+        return WordSearch.formatResult(word, grid.columns(), match);
+    }
+
+    /**
+     * Searches the direction lines of the grid for the word held in the buffer. The lines are built on the first
+     * search of the grid and reused afterwards.
+     *
+     * @param grid The grid with scrambled words embedded within it.
+     * @param word Buffer holding the word that is being searched for.
+     * @return The match in the same form as WordSearch.findWord, or -1 if the word doesn't exist in the grid.
+     * @throws IllegalArgumentException If it is not possible for the word to exist within the grid.
+     */
+    public long find(Grid grid, WordBuffer word) {
+        int length = word.length();
+        if (length > MAX_LENGTH || length == 0) {
+            return WordSearch.findWord(grid, word);
+        }
+        if (length > grid.rows() && length > grid.columns()) {
+            throw new IllegalArgumentException("Not possible for " + word.word() + " to exist in grid");
+        }
+
+        Arrays.fill(forwardMasks, 0);
+        Arrays.fill(reverseMasks, 0);
+        byte[] codes = word.codes();
+        for (int i = 0; i < length; i++) {
+            if (codes[i] < 0) {
+                return -1;
+            }
+            forwardMasks[codes[i]] |= 1L << (length - 1 - i);
+            reverseMasks[codes[i]] |= 1L << i;
+        }
+
+        DirectionLines lines = grid.lines();
+        long best = Long.MAX_VALUE;
+        for (int line = 0; line < lines.count(); line++) {
+            int start = lines.start(line);
+            int end = lines.start(line + 1);
+            if (end - start < length) {
+                continue;
+            }
+            int direction = lines.direction(line);
+            int offset = scan(lines.letters(), start, end, length, forwardMasks);
+            if (offset >= 0) {
+                best = Math.min(best, key(grid, lines, line, offset, direction));
+            }
+            offset = scan(lines.letters(), start, end, length, reverseMasks);
+            if (offset >= 0) {
+                int reverse = WordSearch.REVERSE_DIRECTIONS[direction];
+                best = Math.min(best, key(grid, lines, line, offset + length - 1, reverse));
+            }
+        }
+        return best == Long.MAX_VALUE ? -1 : best;
+    }
+
+    /**
+     * Finds the first occurrence of a word in one line with the BNDM algorithm. Each window of the line is read
+     * backwards while the bits of the state still mark a factor of the word, and the window then moves past every
+     * position the word cannot start at, so most characters of the line are never read.
+     *
+     * @param letters Letter codes of the lines.
+     * @param start Position of the first letter of the line.
+     * @param end Position after the last letter of the line.
+     * @param length Length of the word.
+     * @param masks For each letter, a bit for every position of the word that holds it, with the first character of
+     * the word in the highest bit.
+     * @return Position along the line of the first occurrence, or -1 if the word is not on the line.
+     */
+    private static int scan(byte[] letters, int start, int end, int length, long[] masks) {
+        long all = length == MAX_LENGTH ? -1L : (1L << length) - 1;
+        long first = 1L << (length - 1);
+        int position = start;
+        while (position <= end - length) {
+            int j = length;
+            int shift = length;
+            long state = all;
+            while (true) {
+                state &= masks[letters[position + j - 1]];
+                if (state == 0) {
+                    break;
+                }
+                j--;
+                if ((state & first) != 0) {
+                    if (j == 0) {
+                        return position - start;
+                    }
+                    shift = j;
+                }
+                state <<= 1;
+            }
+            position += shift;
+        }
+        return -1;
+    }
+
+    /**
+     * @param grid The grid.
+     * @param lines Direction lines of the grid.
+     * @param line Line the word was found on.
+     * @param offset Position along the line of the first character of the word.
+     * @param direction Direction the word reads in.
+     * @return The match in the same form as WordSearch.findWord.
+     */
+    private static long key(Grid grid, DirectionLines lines, int line, int offset, int direction) {
+        int index = lines.firstCell(line) + offset * grid.step(lines.direction(line));
+        return ((long) grid.row(index) * grid.columns() + grid.column(index)) << 3 | direction;
+    }
+}
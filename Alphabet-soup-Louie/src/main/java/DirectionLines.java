@@ -0,0 +1,130 @@
+/**
+ * This class holds every line of a grid that a word can lie on: the rows, the columns, the down-right diagonals and
+ * the down-left diagonals. The letter codes of all lines are copied once into one contiguous array, so a search can
+ * stream through each line without following the grid's stride. A word read backwards along a line covers the other
+ * 4 directions. The lines take 4 bytes per cell.
+ */
+public class DirectionLines {
+    /**
+     * Directions the lines are stored in, as indexes into WordSearch.ROW_OFFSETS: right, down, down-right, down-left.
+     */
+    private static final int[] LINE_DIRECTIONS = {1, 3, 7, 6};
+
+    private final byte[] letters;
+    private final int[] starts;
+    private final int[] firstCells;
+    private final byte[] directions;
+
+    /**
+     * Copies the lines out of a grid.
+     *
+     * @param grid The grid.
+     */
+    public DirectionLines(Grid grid) {
+        int rows = grid.rows();
+        int columns = grid.columns();
+        int lineCount = rows + columns + 2 * (rows + columns - 1);
+        long size = 4L * rows * columns;
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Grid of " + rows + "x" + columns + " is too large for direction lines");
+        }
+        letters = new byte[(int) size];
+        starts = new int[lineCount + 1];
+        firstCells = new int[lineCount];
+        directions = new byte[lineCount];
+
+        byte[] cells = grid.cells();
+        int line = 0;
+        int offset = 0;
+        for (int direction : LINE_DIRECTIONS) {
+            int step = grid.step(direction);
+            for (int first : firstCells(grid, direction)) {
+                starts[line] = offset;
+                firstCells[line] = first;
+                directions[line] = (byte) direction;
+                for (int index = first; cells[index] != Grid.BORDER; index += step) {
+                    letters[offset++] = cells[index];
+                }
+                line++;
+            }
+        }
+        starts[line] = offset;
+    }
+
+    /**
+     * Lists the cells that lines in a direction start from: the cells with no neighbour in the opposite direction.
+     *
+     * @param grid The grid.
+     * @param direction Direction of the lines.
+     * @return Index of the first cell of every line.
+     */
+    private static int[] firstCells(Grid grid, int direction) {
+        int rows = grid.rows();
+        int columns = grid.columns();
+        if (direction == 1) {
+            int[] firsts = new int[rows];
+            for (int i = 0; i < rows; i++) {
+                firsts[i] = grid.index(i, 0);
+            }
+            return firsts;
+        }
+        if (direction == 3) {
+            int[] firsts = new int[columns];
+            for (int j = 0; j < columns; j++) {
+                firsts[j] = grid.index(0, j);
+            }
+            return firsts;
+        }
+        int[] firsts = new int[rows + columns - 1];
+        int count = 0;
+        int edgeColumn = direction == 7 ? 0 : columns - 1;
+        for (int i = rows - 1; i > 0; i--) {
+            firsts[count++] = grid.index(i, edgeColumn);
+        }
+        for (int j = 0; j < columns; j++) {
+            firsts[count++] = grid.index(0, direction == 7 ? j : columns - 1 - j);
+        }
+        return firsts;
+    }
+
+    /**
+     * @return Number of lines.
+     */
+    public int count() {
+        return firstCells.length;
+    }
+
+    /**
+     * Returns the backing array of letter codes. Line l is stored from start(l) up to start(l + 1). Callers must not
+     * modify it.
+     *
+     * @return Letter codes of every line.
+     */
+    public byte[] letters() {
+        return letters;
+    }
+
+    /**
+     * @param line Index of a line, or count() for the end of the last line.
+     * @return Position in letters() where the line starts.
+     */
+    public int start(int line) {
+        return starts[line];
+    }
+
+    /**
+     * @param line Index of a line.
+     * @return Index in the grid of the first cell of the line.
+     */
+    public int firstCell(int line) {
+        return firstCells[line];
+    }
+
+    /**
+     * @param line Index of a line.
+     * @return Direction the line is stored in, as an index into WordSearch.ROW_OFFSETS.
+     */
+    public int direction(int line) {
+        return directions[line];
+    }
+}
@@ -0,0 +1,292 @@
+import java.util.Arrays;
+
+/**
+ * This class stores a grid of letters in one contiguous byte array. Each letter is stored as a code from 0 to 25, and
+ * the grid is surrounded by a border of sentinel cells that never match a letter, so a search that walks off the edge
+ * of the grid stops on the sentinel without any bounds checks. Moving one step in a direction is a single addition to
+ * the cell index: one row is stride cells long.
+ */
+public class Grid {
+    /**
+     * Code stored for a grid cell that does not hold one of the letters A to Z.
+     */
+    public static final byte BLANK = 26;
+    /**
+     * Code stored in the cells around the edge of the grid.
+     */
+    public static final byte BORDER = 27;
+
+    private final int rows;
+    private final int columns;
+    private final int stride;
+    private final byte[] cells;
+    private final int[] steps;
+    private volatile LetterIndex letterIndex;
+    private volatile DirectionLines lines;
+    private volatile LetterHistogram letterHistogram;
+    private volatile TrigramIndex trigramIndex;
+    private volatile long fingerprint;
+
+    /**
+     * Creates a grid of the given size with every cell blank.
+     *
+     * @param rows Number of rows in the grid.
+     * @param columns Number of columns in the grid.
+     * @throws IllegalArgumentException If the grid size is not valid or too large to store in one array.
+     */
+    public Grid(int rows, int columns) {
+        if (rows <= 0 || columns <= 0) {
+            throw new IllegalArgumentException("Grid size is not valid");
+        }
+        long size = (long) (rows + 2) * (columns + 2);
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Grid of " + rows + "x" + columns + " is too large");
+        }
+        this.rows = rows;
+        this.columns = columns;
+        this.stride = columns + 2;
+        this.cells = new byte[(int) size];
+        this.steps = new int[WordSearch.ROW_OFFSETS.length];
+        for (int direction = 0; direction < steps.length; direction++) {
+            steps[direction] = WordSearch.ROW_OFFSETS[direction] * stride + WordSearch.COLUMN_OFFSETS[direction];
+        }
+        Arrays.fill(cells, BORDER);
+        for (int i = 0; i < rows; i++) {
+            Arrays.fill(cells, index(i, 0), index(i, 0) + columns, BLANK);
+        }
+    }
+
+    /**
+     * Creates a grid from a 2D character grid. Letters are stored exactly as searchWord compares them, so lower-case
+     * letters and other characters become blank cells that no word can match.
+     *
+     * @param grid The 2D character grid.
+     * @return The grid with the same letters.
+     */
+    public static Grid of(char[][] grid) {
+        Grid result = new Grid(grid.length, grid[0].length);
+        for (int i = 0; i < result.rows; i++) {
+            for (int j = 0; j < result.columns; j++) {
+                result.set(i, j, grid[i][j]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Converts a character to the code it is compared with in the grid. Characters are upper-cased first, the same way
+     * searchWord upper-cases the characters of a word.
+     *
+     * @param character Character of a word.
+     * @return Code from 0 to 25 for the letters A to Z, or -1 for any other character, which matches no cell.
+     */
+    public static int encode(char character) {
+        int code = Character.toUpperCase(character) - 'A';
+        return code >= 0 && code < 26 ? code : -1;
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int columns() {
+        return columns;
+    }
+
+    /**
+     * @return Number of cells between the start of one row and the start of the next, including the border.
+     */
+    public int stride() {
+        return stride;
+    }
+
+    /**
+     * Returns the backing array. Callers must not modify it.
+     *
+     * @return The cell codes, including the border.
+     */
+    public byte[] cells() {
+        return cells;
+    }
+
+    /**
+     * @param row Row of the cell.
+     * @param column Column of the cell.
+     * @return Index of the cell in the backing array.
+     */
+    public int index(int row, int column) {
+        return (row + 1) * stride + column + 1;
+    }
+
+    /**
+     * @param index Index of a cell inside the grid.
+     * @return Row of the cell.
+     */
+    public int row(int index) {
+        return index / stride - 1;
+    }
+
+    /**
+     * @param index Index of a cell inside the grid.
+     * @return Column of the cell.
+     */
+    public int column(int index) {
+        return index % stride - 1;
+    }
+
+    /**
+     * @param direction Index into WordSearch.ROW_OFFSETS and WordSearch.COLUMN_OFFSETS.
+     * @return Amount the cell index changes by for one step in the direction.
+     */
+    public int step(int direction) {
+        return steps[direction];
+    }
+
+    /**
+     * Returns the step of every direction, indexed the same way as WordSearch.ROW_OFFSETS. Callers must not modify it.
+     *
+     * @return Amount the cell index changes by for one step in each direction.
+     */
+    public int[] steps() {
+        return steps;
+    }
+
+    /**
+     * Returns the letter index of the grid, building it the first time it is needed. Every later search of the grid
+     * reuses the same index.
+     *
+     * @return The index of the cells holding each letter.
+     */
+    public LetterIndex letterIndex() {
+        LetterIndex index = letterIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = letterIndex;
+                if (index == null) {
+                    index = new LetterIndex(this);
+                    letterIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Returns the direction lines of the grid, building them the first time they are needed.
+     *
+     * @return Every row, column and diagonal of the grid.
+     */
+    public DirectionLines lines() {
+        DirectionLines result = lines;
+        if (result == null) {
+            synchronized (this) {
+                result = lines;
+                if (result == null) {
+                    result = new DirectionLines(this);
+                    lines = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the letter counts of each orientation of the grid, building them the first time they are needed.
+     *
+     * @return The letter histogram of the grid.
+     */
+    public LetterHistogram letterHistogram() {
+        LetterHistogram histogram = letterHistogram;
+        if (histogram == null) {
+            synchronized (this) {
+                histogram = letterHistogram;
+                if (histogram == null) {
+                    histogram = new LetterHistogram(this);
+                    letterHistogram = histogram;
+                }
+            }
+        }
+        return histogram;
+    }
+
+    /**
+     * Returns the trigram index of the grid, building it the first time it is needed.
+     *
+     * @return The index of every sequence of three letters in the grid.
+     */
+    public TrigramIndex trigramIndex() {
+        TrigramIndex index = trigramIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = trigramIndex;
+                if (index == null) {
+                    index = new TrigramIndex(this);
+                    trigramIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Returns a 64-bit hash of the size and letters of the grid, computing it the first time it is needed. Grids with
+     * the same letters have the same fingerprint, so it can be used to find a grid that was seen before; use
+     * sameLetters to rule out a collision.
+     *
+     * @return Fingerprint of the grid.
+     */
+    public long fingerprint() {
+        long result = fingerprint;
+        if (result == 0) {
+            result = rows * 0x9E3779B97F4A7C15L + columns;
+            for (byte cell : cells) {
+                result = (result ^ cell) * 0x100000001B3L;
+            }
+            fingerprint = result;
+        }
+        return result;
+    }
+
+    /**
+     * @param other Another grid.
+     * @return Boolean of whether the other grid has the same size and the same letters in every cell.
+     */
+    public boolean sameLetters(Grid other) {
+        return rows == other.rows && columns == other.columns && Arrays.equals(cells, other.cells);
+    }
+
+    /**
+     * @param row Row of the cell.
+     * @param column Column of the cell.
+     * @return The letter in the cell, or a space if the cell is blank.
+     */
+    public char letterAt(int row, int column) {
+        byte code = cells[index(row, column)];
+        return code < 26 ? (char) ('A' + code) : ' ';
+    }
+
+    /**
+     * Stores a character in a cell. Only the upper-case letters A to Z are stored as letters. Cells are only set while
+     * a grid is being loaded: the indexes built for searching are not updated.
+     *
+     * @param row Row of the cell.
+     * @param column Column of the cell.
+     * @param character Character to store.
+     */
+    void set(int row, int column, char character) {
+        cells[index(row, column)] = character >= 'A' && character <= 'Z' ? (byte) (character - 'A') : BLANK;
+    }
+
+    /**
+     * @return The grid as a 2D character grid, with blank cells as spaces.
+     */
+    public char[][] toCharArray() {
+        char[][] grid = new char[rows][columns];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                grid[i][j] = letterAt(i, j);
+            }
+        }
+        return grid;
+    }
+}
@@ -0,0 +1,172 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * This class keeps the results of a word list up to date while cells of a grid are changed one at a time. It searches
+ * its own copy of the grid once with a TrieSearch and remembers every occurrence of every word. When a cell changes,
+ * only occurrences that can pass through that cell are looked at again: the walks that start at most the longest word
+ * length away from it along each of the 8 directions. An edit therefore costs time in proportion to the square of the
+ * longest word, however large the grid is and however many words there are.
+ * <p>
+ * An incremental search is meant to be used by one thread at a time.
+ */
+public class IncrementalSearch {
+    private final Grid grid;
+    private final List<String> words;
+    private final TrieSearch trie;
+    private final int maxLength;
+    private final List<TreeSet<Long>> occurrences;
+    private final MatchSink updater = this::update;
+    private int repeatedWords;
+    private boolean adding;
+    private int minSpan;
+
+    /**
+     * Searches a copy of the grid for every occurrence of every word. Later changes to the given grid are not seen.
+     *
+     * @param grid The grid with scrambled words embedded within it.
+     * @param words Words to search for, in the order their results should be returned.
+     * @throws IllegalArgumentException If it is not possible for one of the words to exist within the grid.
+     */
+    public IncrementalSearch(Grid grid, List<String> words) {
+        this.grid = new Grid(grid.rows(), grid.columns());
+        System.arraycopy(grid.cells(), 0, this.grid.cells(), 0, grid.cells().length);
+        this.words = Collections.unmodifiableList(new ArrayList<>(words));
+        this.trie = new TrieSearch(this.words);
+        this.occurrences = new ArrayList<>(this.words.size());
+        int longest = 0;
+        for (String word : this.words) {
+            longest = Math.max(longest, word.length());
+            occurrences.add(new TreeSet<>());
+        }
+        this.maxLength = longest;
+        adding = true;
+        minSpan = 0;
+        trie.findAll(this.grid, updater);
+    }
+
+    /**
+     * Changes one cell and updates the occurrences of every word that passed through it or passes through it now.
+     * Characters are stored the same way Grid.of stores them.
+     *
+     * @param row Row of the cell.
+     * @param column Column of the cell.
+     * @param letter The new character of the cell.
+     * @throws IllegalArgumentException If the cell is not in the grid.
+     */
+    public void setCell(int row, int column, char letter) {
+        if (row < 0 || row >= grid.rows() || column < 0 || column >= grid.columns()) {
+            throw new IllegalArgumentException("Cell " + row + ":" + column + " is not in the grid");
+        }
+        byte[] cells = grid.cells();
+        int index = grid.index(row, column);
+        byte old = cells[index];
+        grid.set(row, column, letter);
+        byte code = cells[index];
+        if (code == old) {
+            return;
+        }
+        cells[index] = old;
+        visit(row, column, false);
+        cells[index] = code;
+        visit(row, column, true);
+    }
+
+    /**
+     * Walks the trie from every cell that an occurrence through the given cell could start at, in the direction that
+     * leads through the cell, and adds or removes the occurrences that reach it.
+     *
+     * @param row Row of the cell.
+     * @param column Column of the cell.
+     * @param add Boolean of whether the occurrences found are added, or removed.
+     */
+    private void visit(int row, int column, boolean add) {
+        adding = add;
+        for (int direction = 0; direction < WordSearch.ROW_OFFSETS.length; direction++) {
+            int rowOffset = WordSearch.ROW_OFFSETS[direction];
+            int columnOffset = WordSearch.COLUMN_OFFSETS[direction];
+            for (int distance = 0; distance < maxLength; distance++) {
+                int startRow = row - rowOffset * distance;
+                int startColumn = column - columnOffset * distance;
+                if (startRow < 0 || startRow >= grid.rows() || startColumn < 0 || startColumn >= grid.columns()) {
+                    break;
+                }
+                minSpan = distance;
+                trie.walkAll(grid, grid.index(startRow, startColumn), direction, updater);
+            }
+        }
+    }
+
+    /**
+     * Adds or removes one occurrence, if it spans at least minSpan steps.
+     */
+    private void update(int wordId, int startRow, int startColumn, int endRow, int endColumn, int direction) {
+        if (Math.max(Math.abs(endRow - startRow), Math.abs(endColumn - startColumn)) < minSpan) {
+            return;
+        }
+        TreeSet<Long> found = occurrences.get(wordId);
+        long key = ((long) startRow * grid.columns() + startColumn) << 3 | direction;
+        if (adding) {
+            if (found.add(key) && found.size() == 2) {
+                repeatedWords++;
+            }
+        } else if (found.remove(key) && found.size() == 1) {
+            repeatedWords--;
+        }
+    }
+
+    /**
+     * @param wordId Index of the word in the word list.
+     * @return The match searchWord would return for the word in the current grid, in the form returned by
+     * WordSearch.findWord, or -1 if the word is not in the grid.
+     */
+    public long find(int wordId) {
+        TreeSet<Long> found = occurrences.get(wordId);
+        return found.isEmpty() ? -1 : found.first();
+    }
+
+    /**
+     * @param wordId Index of the word in the word list.
+     * @return Number of times the word appears in the current grid, counting each occurrence as MatchSink describes.
+     */
+    public int occurrences(int wordId) {
+        return occurrences.get(wordId).size();
+    }
+
+    /**
+     * @return Number of words that appear more than once in the current grid.
+     */
+    public int repeatedWords() {
+        return repeatedWords;
+    }
+
+    /**
+     * @return Strings that indicate the starting and ending indices of each word in the current grid, or that the word
+     * doesn't exist, in word list order.
+     */
+    public List<String> results() {
+        List<String> outputs = new ArrayList<>(words.size());
+        for (int id = 0; id < words.size(); id++) {
+            outputs.add(WordSearch.formatResult(words.get(id), grid.columns(), find(id)));
+        }
+        return outputs;
+    }
+
+    /**
+     * @param row Row of the cell.
+     * @param column Column of the cell.
+     * @return The letter in the cell, or a space if the cell is blank.
+     */
+    public char letterAt(int row, int column) {
+        return grid.letterAt(row, column);
+    }
+
+    /**
+     * @return The words being searched for. The list cannot be modified.
+     */
+    public List<String> words() {
+        return words;
+    }
+}
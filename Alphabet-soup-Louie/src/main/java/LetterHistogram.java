@@ -0,0 +1,116 @@
+/**
+ * This class counts the letters of a grid along each of its 4 orientations: rows, columns, down-right diagonals and
+ * down-left diagonals. A word lies along a single line of one orientation, reading either way, so it can only be in the
+ * grid if, for some orientation, no line is too short for it and every letter of the word appears at least as many
+ * times in some line of that orientation. Checking this takes time in proportion to the length of the word, and rules
+ * out most words that are not in the grid before any cell is searched. The histogram is built by walking every line of
+ * every orientation twice.
+ */
+public class LetterHistogram {
+    /**
+     * One direction of each orientation, indexed the same way as WordSearch.ROW_OFFSETS: right, down, down-right and
+     * down-left.
+     */
+    private static final int[] DIRECTIONS = {1, 3, 7, 6};
+
+    private final int[][] lineMaximums = new int[DIRECTIONS.length][26];
+    private final int[] lineLengths = new int[DIRECTIONS.length];
+
+    /**
+     * Counts the letters of a grid.
+     *
+     * @param grid The grid to count.
+     */
+    public LetterHistogram(Grid grid) {
+        int rows = grid.rows();
+        int columns = grid.columns();
+        lineLengths[0] = columns;
+        lineLengths[1] = rows;
+        lineLengths[2] = Math.min(rows, columns);
+        lineLengths[3] = Math.min(rows, columns);
+
+        int[] counts = new int[Grid.BORDER + 1];
+        for (int i = 0; i < rows; i++) {
+            countLine(grid, grid.index(i, 0), 0, counts);
+        }
+        for (int j = 0; j < columns; j++) {
+            countLine(grid, grid.index(0, j), 1, counts);
+            countLine(grid, grid.index(0, j), 2, counts);
+            countLine(grid, grid.index(0, j), 3, counts);
+        }
+        for (int i = 1; i < rows; i++) {
+            countLine(grid, grid.index(i, 0), 2, counts);
+            countLine(grid, grid.index(i, columns - 1), 3, counts);
+        }
+    }
+
+    /**
+     * Counts the letters of one line and raises the maximums of its orientation.
+     *
+     * @param grid The grid being counted.
+     * @param start Index of the first cell of the line.
+     * @param orientation Index into DIRECTIONS of the direction the line runs in.
+     * @param counts Count of each cell code, all 0. They are 0 again when this returns.
+     */
+    private void countLine(Grid grid, int start, int orientation, int[] counts) {
+        byte[] cells = grid.cells();
+        int step = grid.step(DIRECTIONS[orientation]);
+        for (int index = start; cells[index] != Grid.BORDER; index += step) {
+            counts[cells[index]]++;
+        }
+        int[] maximums = lineMaximums[orientation];
+        for (int index = start; cells[index] != Grid.BORDER; index += step) {
+            int code = cells[index];
+            if (code < 26) {
+                maximums[code] = Math.max(maximums[code], counts[code]);
+            }
+            counts[code] = 0;
+        }
+    }
+
+    /**
+     * @param orientation 0 for rows, 1 for columns, 2 for down-right diagonals and 3 for down-left diagonals.
+     * @param letter Code of a letter, from 0 to 25.
+     * @return The most times the letter appears in a single line of the orientation.
+     */
+    public int lineMaximum(int orientation, int letter) {
+        return lineMaximums[orientation][letter];
+    }
+
+    /**
+     * Checks whether the word held in the buffer could be in the grid. A word that fails this check is certainly not
+     * in the grid; a word that passes it may or may not be.
+     *
+     * @param word Buffer holding the word.
+     * @return Boolean of whether the word could be in the grid.
+     */
+    public boolean mayContain(WordBuffer word) {
+        byte[] codes = word.codes();
+        int length = word.length();
+        for (int i = 0; i < length; i++) {
+            if (codes[i] < 0) {
+                return false;
+            }
+        }
+
+        int[] counts = word.letterCounts();
+        for (int i = 0; i < length; i++) {
+            counts[codes[i]]++;
+        }
+        boolean possible = false;
+        for (int orientation = 0; orientation < DIRECTIONS.length && !possible; orientation++) {
+            if (length > lineLengths[orientation]) {
+                continue;
+            }
+            int[] maximums = lineMaximums[orientation];
+            possible = true;
+            for (int i = 0; i < length && possible; i++) {
+                possible = counts[codes[i]] <= maximums[codes[i]];
+            }
+        }
+        for (int i = 0; i < length; i++) {
+            counts[codes[i]] = 0;
+        }
+        return possible;
+    }
+}
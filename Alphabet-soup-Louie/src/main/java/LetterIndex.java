@@ -0,0 +1,97 @@
+/**
+ * This class lists the cells of a grid that hold each letter. The cells of a letter are stored in row-major order, so
+ * a search can visit only the cells that hold the first letter of a word, in the same order as a scan of the whole
+ * grid would reach them. The index takes 4 bytes per cell and is built with two passes over the grid.
+ */
+public class LetterIndex {
+    private final int[] starts;
+    private final int[] positions;
+
+    /**
+     * Builds the index of a grid.
+     *
+     * @param grid The grid to index.
+     */
+    public LetterIndex(Grid grid) {
+        byte[] cells = grid.cells();
+        int columns = grid.columns();
+        int[] counts = new int[Grid.BORDER + 1];
+        for (int i = 0; i < grid.rows(); i++) {
+            int index = grid.index(i, 0);
+            for (int j = 0; j < columns; j++) {
+                counts[cells[index + j]]++;
+            }
+        }
+        starts = new int[27];
+        for (int letter = 0; letter < 26; letter++) {
+            starts[letter + 1] = starts[letter] + counts[letter];
+        }
+
+        int[] next = starts.clone();
+        positions = new int[starts[26]];
+        for (int i = 0; i < grid.rows(); i++) {
+            int index = grid.index(i, 0);
+            for (int j = 0; j < columns; j++) {
+                byte code = cells[index + j];
+                if (code < 26) {
+                    positions[next[code]++] = index + j;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the backing array of cell indexes. The cells holding a letter are the entries from start(letter) up to
+     * end(letter). Callers must not modify it.
+     *
+     * @return Cell indexes of every letter of the grid, grouped by letter.
+     */
+    public int[] positions() {
+        return positions;
+    }
+
+    /**
+     * @param letter Code of a letter, from 0 to 25.
+     * @return Position in positions() of the first cell holding the letter.
+     */
+    public int start(int letter) {
+        return starts[letter];
+    }
+
+    /**
+     * @param letter Code of a letter, from 0 to 25.
+     * @return Position in positions() after the last cell holding the letter.
+     */
+    public int end(int letter) {
+        return starts[letter + 1];
+    }
+
+    /**
+     * @param letter Code of a letter, from 0 to 25.
+     * @return Number of cells holding the letter.
+     */
+    public int count(int letter) {
+        return starts[letter + 1] - starts[letter];
+    }
+
+    /**
+     * Finds the first cell holding a letter at or after a cell index.
+     *
+     * @param letter Code of a letter, from 0 to 25.
+     * @param index Cell index to start from.
+     * @return Position in positions() of the first cell holding the letter whose index is at least the given index.
+     */
+    public int seek(int letter, int index) {
+        int low = starts[letter];
+        int high = starts[letter + 1];
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (positions[middle] < index) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
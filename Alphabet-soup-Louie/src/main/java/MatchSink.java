@@ -0,0 +1,20 @@
+/**
+ * Receives occurrences of words as a search finds them, so any number of matches can be streamed to their destination
+ * without being collected first. Everything is passed as primitives and nothing is allocated per match.
+ */
+public interface MatchSink {
+    /**
+     * Called once for each occurrence of a word. A palindrome reads the same in both directions along its cells, so it
+     * is reported once, in the direction that starts at the earlier cell. A single letter is reported once per cell,
+     * in the left direction.
+     *
+     * @param wordId Index of the word in the word list being searched.
+     * @param startRow Row of the first character of the word.
+     * @param startColumn Column of the first character of the word.
+     * @param endRow Row of the last character of the word.
+     * @param endColumn Column of the last character of the word.
+     * @param direction Index into WordSearch.ROW_OFFSETS and WordSearch.COLUMN_OFFSETS of the direction the word reads
+     * in.
+     */
+    void match(int wordId, int startRow, int startColumn, int endRow, int endColumn, int direction);
+}
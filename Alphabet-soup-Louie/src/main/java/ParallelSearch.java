@@ -0,0 +1,233 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * This class searches a grid for a word list on several threads by splitting the grid into bands of rows, so a huge
+ * grid keeps every thread busy however many words there are. Long word lists are searched with one shared TrieSearch
+ * per band, and short ones a word at a time. Word lists can also be split into chunks of words that are searched
+ * independently. Either way, the results come back in the order of the word list and are the same as searchWord's.
+ */
+public class ParallelSearch implements AutoCloseable {
+    private static final int MIN_WORDS_PER_TASK = 64;
+    private static final int TASKS_PER_THREAD = 4;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates a search that uses one thread per available processor.
+     */
+    public ParallelSearch() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a search with its own pool of threads.
+     *
+     * @param parallelism Number of threads to search with.
+     * @throws IllegalArgumentException If parallelism is not positive.
+     */
+    public ParallelSearch(int parallelism) {
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * @return Number of threads the search uses.
+     */
+    public int parallelism() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * Searches the grid for every word and returns one result per word, in word list order.
+     *
+     * @param grid The grid with scrambled words embedded within it.
+     * @param words Words to search for.
+     * @return Strings that indicate the starting and ending indices of each word, or that the word doesn't exist.
+     * @throws IllegalArgumentException If it is not possible for one of the words to exist within the grid.
+     */
+    public List<String> search(Grid grid, List<String> words) {
+        long[] matches = find(grid, words);
+        List<String> outputs = new ArrayList<>(words.size());
+        for (int id = 0; id < words.size(); id++) {
+            outputs.add(WordSearch.formatResult(words.get(id), grid.columns(), matches[id]));
+        }
+        return outputs;
+    }
+
+    /**
+     * Searches the grid for every word by bands of rows, with a trie when there are more than 8 words and one word at
+     * a time otherwise.
+     *
+     * @param grid The grid with scrambled words embedded within it.
+     * @param words Words to search for.
+     * @return The match of each word in the same form as WordSearch.findWord, in word list order.
+     * @throws IllegalArgumentException If it is not possible for one of the words to exist within the grid.
+     */
+    public long[] find(Grid grid, List<String> words) {
+        if (words.size() > Solver.TRIE_THRESHOLD) {
+            return findByTrie(grid, words);
+        }
+        return findByRows(grid, words);
+    }
+
+    /**
+     * Searches the grid for every word, giving each task a chunk of the word list and the whole grid.
+     *
+     * @param grid The grid with scrambled words embedded within it.
+     * @param words Words to search for.
+     * @return The match of each word in the same form as WordSearch.findWord, in word list order.
+     * @throws IllegalArgumentException If it is not possible for one of the words to exist within the grid.
+     */
+    public long[] findByWord(Grid grid, List<String> words) {
+        checkLengths(grid, words);
+        long[] matches = new long[words.size()];
+        int taskCount = Math.max(1, Math.min(parallelism() * TASKS_PER_THREAD, words.size() / MIN_WORDS_PER_TASK));
+        List<Callable<Void>> tasks = new ArrayList<>(taskCount);
+        for (int task = 0; task < taskCount; task++) {
+            int from = (int) ((long) words.size() * task / taskCount);
+            int to = (int) ((long) words.size() * (task + 1) / taskCount);
+            tasks.add(() -> {
+                WordBuffer buffer = new WordBuffer();
+                for (int id = from; id < to; id++) {
+                    matches[id] = WordSearch.findWord(grid, buffer.set(words.get(id)));
+                }
+                return null;
+            });
+        }
+        run(tasks);
+        return matches;
+    }
+
+    /**
+     * Searches the grid for every word, giving each task a band of rows and the whole word list. Each band finds the
+     * words that start in it, and the earliest band that finds a word has the match searchWord would return.
+     *
+     * @param grid The grid with scrambled words embedded within it.
+     * @param words Words to search for.
+     * @return The match of each word in the same form as WordSearch.findWord, in word list order.
+     * @throws IllegalArgumentException If it is not possible for one of the words to exist within the grid.
+     */
+    public long[] findByRows(Grid grid, List<String> words) {
+        checkLengths(grid, words);
+        return findByBands(grid, words.size(), (startRow, endRow) -> {
+            WordBuffer buffer = new WordBuffer();
+            long[] matches = new long[words.size()];
+            for (int id = 0; id < matches.length; id++) {
+                matches[id] = WordSearch.findWord(grid, buffer.set(words.get(id)), startRow, endRow);
+            }
+            return matches;
+        });
+    }
+
+    /**
+     * Searches the grid for every word, giving each task a band of rows and one TrieSearch of the whole word list,
+     * which the tasks share. Each band reads only its own rows and the cells words starting there run into.
+     *
+     * @param grid The grid with scrambled words embedded within it.
+     * @param words Words to search for.
+     * @return The match of each word in the same form as WordSearch.findWord, in word list order.
+     * @throws IllegalArgumentException If it is not possible for one of the words to exist within the grid.
+     */
+    public long[] findByTrie(Grid grid, List<String> words) {
+        checkLengths(grid, words);
+        TrieSearch trie = new TrieSearch(words);
+        return findByBands(grid, words.size(), (startRow, endRow) -> trie.find(grid, startRow, endRow));
+    }
+
+    /**
+     * Searches a band of rows of a grid.
+     */
+    private interface BandSearch {
+        /**
+         * @param startRow First row a match may start in.
+         * @param endRow Row after the last row a match may start in.
+         * @return The match of each word that starts in the band, or -1.
+         */
+        long[] find(int startRow, int endRow);
+    }
+
+    /**
+     * Runs a search on every band of rows and keeps the earliest band's match of each word, which is the match
+     * searchWord would return.
+     *
+     * @param grid The grid being searched.
+     * @param wordCount Number of words.
+     * @param search Search of one band.
+     * @return The match of each word in the same form as WordSearch.findWord, in word list order.
+     */
+    private long[] findByBands(Grid grid, int wordCount, BandSearch search) {
+        int bandCount = Math.min(parallelism() * TASKS_PER_THREAD, grid.rows());
+        long[][] bandMatches = new long[bandCount][];
+        List<Callable<Void>> tasks = new ArrayList<>(bandCount);
+        for (int band = 0; band < bandCount; band++) {
+            int index = band;
+            int startRow = (int) ((long) grid.rows() * band / bandCount);
+            int endRow = (int) ((long) grid.rows() * (band + 1) / bandCount);
+            tasks.add(() -> {
+                bandMatches[index] = search.find(startRow, endRow);
+                return null;
+            });
+        }
+        run(tasks);
+
+        long[] matches = new long[wordCount];
+        for (int id = 0; id < matches.length; id++) {
+            matches[id] = -1;
+            for (long[] band : bandMatches) {
+                if (band[id] >= 0) {
+                    matches[id] = band[id];
+                    break;
+                }
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Checks every word up front, so an impossible word fails the search before any task starts.
+     *
+     * @param grid The grid being searched.
+     * @param words Words to search for.
+     * @throws IllegalArgumentException If it is not possible for one of the words to exist within the grid.
+     */
+    private static void checkLengths(Grid grid, List<String> words) {
+        for (String word : words) {
+            if (word.length() > grid.rows() && word.length() > grid.columns()) {
+                throw new IllegalArgumentException("Not possible for " + word + " to exist in grid");
+            }
+        }
+    }
+
+    /**
+     * Runs the tasks on the pool and waits for all of them to finish.
+     *
+     * @param tasks Tasks to run.
+     */
+    private void run(List<Callable<Void>> tasks) {
+        try {
+            for (Future<Void> future : pool.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Search was interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Shuts down the threads of the search.
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+}
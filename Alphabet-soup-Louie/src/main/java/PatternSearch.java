@@ -0,0 +1,304 @@
+import java.util.Arrays;
+
+/**
+ * This class searches a grid for a pattern rather than an exact word. A pattern is a sequence of letters, '?' for any
+ * single letter, and letter sets such as "[AO]" for any one of the letters in the brackets; letters match in either
+ * case. For example, "C[AO]T" matches CAT and COT, and "C?T" also matches CUT.
+ * <p>
+ * Patterns with three consecutive positions that are not '?' are looked up in the grid's TrigramIndex: the most
+ * selective three positions are chosen, and only the places those letters appear are checked against the whole
+ * pattern. Matches in the 4 directions the index does not cover are found by looking up the pattern backwards. Other
+ * patterns are checked at every cell and direction, the way searchWord does.
+ */
+public class PatternSearch {
+    /**
+     * Most letter combinations a run of three positions may expand to before it is not worth looking up.
+     */
+    private static final int MAX_COMBINATIONS = 512;
+    private static final int ANY = (1 << 26) - 1;
+
+    private final String pattern;
+    private final int[] masks;
+    private final int[] reversed;
+
+    /**
+     * Compiles a pattern.
+     *
+     * @param pattern Letters, '?' wildcards and bracketed letter sets.
+     * @throws IllegalArgumentException If the pattern is empty, has an unclosed or empty letter set, or has a
+     * character that is not a letter, '?' or a bracket.
+     */
+    public PatternSearch(String pattern) {
+        this.pattern = pattern;
+        int[] compiled = new int[pattern.length()];
+        int length = 0;
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '?') {
+                compiled[length++] = ANY;
+            } else if (c == '[') {
+                int close = pattern.indexOf(']', i);
+                if (close < 0) {
+                    throw new IllegalArgumentException("Unclosed letter set in pattern " + pattern);
+                }
+                int mask = 0;
+                for (int k = i + 1; k < close; k++) {
+                    mask |= bit(pattern, pattern.charAt(k));
+                }
+                if (mask == 0) {
+                    throw new IllegalArgumentException("Empty letter set in pattern " + pattern);
+                }
+                compiled[length++] = mask;
+                i = close;
+            } else {
+                compiled[length++] = bit(pattern, c);
+            }
+        }
+        if (length == 0) {
+            throw new IllegalArgumentException("Pattern is empty");
+        }
+        masks = Arrays.copyOf(compiled, length);
+        reversed = new int[length];
+        for (int k = 0; k < length; k++) {
+            reversed[k] = masks[length - 1 - k];
+        }
+    }
+
+    /**
+     * @param pattern The pattern being compiled, for the error message.
+     * @param c A character of the pattern.
+     * @return The mask bit of the letter.
+     */
+    private static int bit(String pattern, char c) {
+        int code = Grid.encode(c);
+        if (code < 0) {
+            throw new IllegalArgumentException("Pattern " + pattern + " has a character that is not a letter: " + c);
+        }
+        return 1 << code;
+    }
+
+    /**
+     * @return Number of letters a match of the pattern has.
+     */
+    public int length() {
+        return masks.length;
+    }
+
+    /**
+     * Searches the grid for the pattern.
+     *
+     * @param grid The grid with scrambled words embedded within it.
+     * @return String of the pattern and the starting and ending indices of its first match, in the order searchWord
+     * checks cells and directions, or that nothing matches.
+     * @throws IllegalArgumentException If the pattern is longer than both dimensions of the grid.
+     */
+    public String search(Grid grid) {
+        long match = find(grid);
+        if (match < 0) {
+            return WordSearch.formatMissing(pattern);
+        }
+        long cell = match >>> 3;
+        int row = (int) (cell / grid.columns());
+        int column = (int) (cell % grid.columns());
+        int direction = (int) (match & 7);
+        int distance = masks.length - 1;
+        return pattern + " " + row + ":" + column + " " + (row + WordSearch.ROW_OFFSETS[direction] * distance) + ":"
+                + (column + WordSearch.COLUMN_OFFSETS[direction] * distance);
+    }
+
+    /**
+     * Finds the first match of the pattern, in the order searchWord checks cells and directions.
+     *
+     * @param grid The grid with scrambled words embedded within it.
+     * @return The match in the form returned by WordSearch.findWord, or -1 if nothing matches.
+     * @throws IllegalArgumentException If the pattern is longer than both dimensions of the grid.
+     */
+    public long find(Grid grid) {
+        long[] first = {-1};
+        findAll(grid, 0, (id, startRow, startColumn, endRow, endColumn, direction) -> {
+            long key = ((long) startRow * grid.columns() + startColumn) << 3 | direction;
+            if (first[0] < 0 || key < first[0]) {
+                first[0] = key;
+            }
+        });
+        return first[0];
+    }
+
+    /**
+     * Finds every match of the pattern and passes each one to the sink. A run of cells that matches the pattern in both
+     * directions is reported once, and a pattern of one letter once per cell, as MatchSink describes. Matches are not
+     * reported in any particular order.
+     *
+     * @param grid The grid with scrambled words embedded within it.
+     * @param patternId Id passed to the sink as the word id.
+     * @param sink Receiver of the matches.
+     * @return The number of matches.
+     * @throws IllegalArgumentException If the pattern is longer than both dimensions of the grid.
+     */
+    public int findAll(Grid grid, int patternId, MatchSink sink) {
+        if (masks.length > grid.rows() && masks.length > grid.columns()) {
+            throw new IllegalArgumentException("Not possible for " + pattern + " to exist in grid");
+        }
+        int forward = bestWindow(grid, masks);
+        int backward = bestWindow(grid, reversed);
+        if (forward < 0 || backward < 0) {
+            return scan(grid, patternId, sink);
+        }
+        return lookUp(grid, masks, forward, false, patternId, sink)
+                + lookUp(grid, reversed, backward, true, patternId, sink);
+    }
+
+    /**
+     * Chooses the three consecutive positions of a pattern whose letter combinations appear in the fewest places.
+     *
+     * @param grid The grid being searched.
+     * @param pattern Masks of the pattern.
+     * @return The first of the three positions, or -1 if no three positions are specific enough to look up.
+     */
+    private static int bestWindow(Grid grid, int[] pattern) {
+        int best = -1;
+        long bestCount = Long.MAX_VALUE;
+        for (int w = 0; w + 3 <= pattern.length; w++) {
+            long combinations = (long) Integer.bitCount(pattern[w]) * Integer.bitCount(pattern[w + 1])
+                    * Integer.bitCount(pattern[w + 2]);
+            if (combinations > MAX_COMBINATIONS) {
+                continue;
+            }
+            TrigramIndex index = grid.trigramIndex();
+            long count = 0;
+            for (int a = 0; a < 26; a++) {
+                if ((pattern[w] >>> a & 1) == 0) {
+                    continue;
+                }
+                for (int b = 0; b < 26; b++) {
+                    if ((pattern[w + 1] >>> b & 1) == 0) {
+                        continue;
+                    }
+                    for (int c = 0; c < 26; c++) {
+                        if ((pattern[w + 2] >>> c & 1) != 0) {
+                            count += index.count(TrigramIndex.key(a, b, c));
+                        }
+                    }
+                }
+            }
+            if (count < bestCount) {
+                best = w;
+                bestCount = count;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Checks the places the chosen positions of the pattern appear in the trigram index.
+     *
+     * @param grid The grid being searched.
+     * @param pattern Masks of the pattern, or of the pattern backwards.
+     * @param window First of the three positions that are looked up.
+     * @param backwards Boolean of whether the masks are the pattern backwards, so matches read the opposite way.
+     * @param patternId Id passed to the sink.
+     * @param sink Receiver of the matches.
+     * @return The number of matches reported.
+     */
+    private int lookUp(Grid grid, int[] pattern, int window, boolean backwards, int patternId, MatchSink sink) {
+        TrigramIndex index = grid.trigramIndex();
+        int[] entries = index.entries();
+        byte[] cells = grid.cells();
+        int found = 0;
+        for (int a = 0; a < 26; a++) {
+            if ((pattern[window] >>> a & 1) == 0) {
+                continue;
+            }
+            for (int b = 0; b < 26; b++) {
+                if ((pattern[window + 1] >>> b & 1) == 0) {
+                    continue;
+                }
+                for (int c = 0; c < 26; c++) {
+                    if ((pattern[window + 2] >>> c & 1) == 0) {
+                        continue;
+                    }
+                    int key = TrigramIndex.key(a, b, c);
+                    for (int e = index.start(key); e < index.end(key); e++) {
+                        int direction = TrigramIndex.DIRECTIONS[entries[e] & 3];
+                        int row = grid.row(entries[e] >>> 2) - WordSearch.ROW_OFFSETS[direction] * window;
+                        int column = grid.column(entries[e] >>> 2) - WordSearch.COLUMN_OFFSETS[direction] * window;
+                        if (row < 0 || row >= grid.rows() || column < 0 || column >= grid.columns()) {
+                            continue;
+                        }
+                        int start = grid.index(row, column);
+                        int step = grid.step(direction);
+                        if (!matches(cells, start, step, pattern)) {
+                            continue;
+                        }
+                        if (backwards) {
+                            start += (pattern.length - 1) * step;
+                            direction = WordSearch.REVERSE_DIRECTIONS[direction];
+                        }
+                        found += report(grid, start, direction, patternId, sink);
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Checks the pattern at every cell in every direction.
+     *
+     * @param grid The grid being searched.
+     * @param patternId Id passed to the sink.
+     * @param sink Receiver of the matches.
+     * @return The number of matches reported.
+     */
+    private int scan(Grid grid, int patternId, MatchSink sink) {
+        byte[] cells = grid.cells();
+        int directions = masks.length == 1 ? 1 : WordSearch.ROW_OFFSETS.length;
+        int found = 0;
+        for (int i = 0; i < grid.rows(); i++) {
+            for (int j = 0; j < grid.columns(); j++) {
+                int start = grid.index(i, j);
+                for (int direction = 0; direction < directions; direction++) {
+                    if (matches(cells, start, grid.step(direction), masks)) {
+                        found += report(grid, start, direction, patternId, sink);
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Reports a match, unless the same cells also match the pattern read the other way and this is the later of the
+     * two starting cells.
+     *
+     * @return 1 if the match was reported, 0 otherwise.
+     */
+    private int report(Grid grid, int start, int direction, int patternId, MatchSink sink) {
+        int step = grid.step(direction);
+        int end = start + (masks.length - 1) * step;
+        if (masks.length > 1 && end < start && matches(grid.cells(), end, -step, masks)) {
+            return 0;
+        }
+        sink.match(patternId, grid.row(start), grid.column(start), grid.row(end), grid.column(end), direction);
+        return 1;
+    }
+
+    /**
+     * Compares the pattern with the cells from a start cell in one direction. The sentinel border of the grid never
+     * matches, so a pattern that runs off the edge fails there.
+     *
+     * @param cells Backing array of the grid.
+     * @param start Index of the starting cell.
+     * @param step Amount the cell index changes by for one step in the direction.
+     * @param pattern Masks of the pattern.
+     * @return Boolean of whether every cell matches.
+     */
+    private static boolean matches(byte[] cells, int start, int step, int[] pattern) {
+        for (int k = 0, index = start; k < pattern.length; k++, index += step) {
+            if ((pattern[k] >>> cells[index] & 1) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,56 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * This class holds one loaded word search: the grid of letters and the words to find, in the order they appear in the
+ * input file. A puzzle does not change after it is loaded, so it can be shared between threads.
+ */
+public final class Puzzle {
+    private final Grid grid;
+    private final List<String> words;
+
+    /**
+     * Creates a puzzle. Empty words are dropped and repeated words are only kept the first time they appear.
+     *
+     * @param grid The grid with scrambled words embedded within it. It must not be modified afterwards.
+     * @param words Words to find, in output order.
+     */
+    public Puzzle(Grid grid, List<String> words) {
+        Set<String> uniqueWords = new LinkedHashSet<>(words);
+        uniqueWords.remove("");
+        this.grid = grid;
+        this.words = Collections.unmodifiableList(new ArrayList<>(uniqueWords));
+    }
+
+    /**
+     * Reads a puzzle from an input file in the format described in the README, using a PuzzleParser. Files named
+     * with BinaryPuzzle.EXTENSION are read as binary puzzles instead.
+     *
+     * @param textFile The input file that will be read.
+     * @return The puzzle from the file.
+     * @throws IOException If the file cannot be read.
+     * @throws NumberFormatException If the grid size is not a pair of numbers.
+     * @throws IllegalArgumentException If the input file contains invalid grid dimensions or no words to find.
+     */
+    public static Puzzle load(String textFile) throws IOException {
+        Path file = Paths.get(textFile);
+        return BinaryPuzzle.isBinary(file) ? BinaryPuzzle.read(file) : new PuzzleParser().parse(file);
+    }
+
+    public Grid grid() {
+        return grid;
+    }
+
+    /**
+     * @return The words to find, in output order. The list cannot be modified.
+     */
+    public List<String> words() {
+        return words;
+    }
+}
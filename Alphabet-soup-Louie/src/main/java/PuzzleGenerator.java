@@ -0,0 +1,301 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * This class generates random puzzles of any size together with their answer key. Words of random letters are planted
+ * in random directions, crossing other planted words only where their letters agree, and every other cell is filled
+ * with a random letter. Words that are not planted are added too, so the key has both kinds of result. Everything is
+ * drawn from a seeded SplittableRandom, so the same seed and size always give the same puzzle.
+ * <p>
+ * A random word can also appear by chance, and the key would then not say which occurrence searchWord finds first. The
+ * finished grid is therefore searched once with a TrieSearch, and any planted word that is not in the grid exactly
+ * once, or unplanted word that is in it at all, is left out of the puzzle. Planted words are never palindromes, so each
+ * has one start cell and direction.
+ */
+public class PuzzleGenerator {
+    /**
+     * Default length of the shortest word, long enough that random words almost never appear by chance.
+     */
+    public static final int DEFAULT_MIN_LENGTH = 8;
+    /**
+     * Default length of the longest word.
+     */
+    public static final int DEFAULT_MAX_LENGTH = 12;
+    private static final int PLACEMENT_ATTEMPTS = 100;
+    /**
+     * Number of random words drawn before giving up on finding one that is new and not a palindrome. It is far above
+     * the number of draws needed while fewer words are asked for than generate allows.
+     */
+    private static final int WORD_ATTEMPTS = 1 << 16;
+
+    private final long seed;
+    private final int minLength;
+    private final int maxLength;
+
+    /**
+     * Creates a generator of words from 8 to 12 letters long.
+     *
+     * @param seed Seed of the random numbers.
+     */
+    public PuzzleGenerator(long seed) {
+        this(seed, DEFAULT_MIN_LENGTH, DEFAULT_MAX_LENGTH);
+    }
+
+    /**
+     * Creates a generator. Words are shortened to fit grids that are smaller than minLength.
+     *
+     * @param seed Seed of the random numbers.
+     * @param minLength Length of the shortest word.
+     * @param maxLength Length of the longest word.
+     * @throws IllegalArgumentException If minLength is less than 2 or greater than maxLength.
+     */
+    public PuzzleGenerator(long seed, int minLength, int maxLength) {
+        if (minLength < 2 || minLength > maxLength) {
+            throw new IllegalArgumentException("Word lengths " + minLength + " to " + maxLength + " are not valid");
+        }
+        this.seed = seed;
+        this.minLength = minLength;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * Generates a puzzle. Fewer words than asked for are returned when a word cannot be placed after 100 tries, or is
+     * left out because it also appears by chance.
+     *
+     * @param rows Number of rows in the grid.
+     * @param columns Number of columns in the grid.
+     * @param planted Number of words to plant in the grid.
+     * @param missing Number of words that are not in the grid.
+     * @return The puzzle and its answer key.
+     * @throws IllegalArgumentException If the grid size is not valid, a word count is negative, or there are fewer
+     * words that fit in the grid and are not palindromes than the word counts add up to.
+     */
+    public Generated generate(int rows, int columns, int planted, int missing) {
+        if (planted < 0 || missing < 0) {
+            throw new IllegalArgumentException("Word counts must not be negative");
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        Grid grid = new Grid(rows, columns);
+        byte[] cells = grid.cells();
+        int longest = Math.min(maxLength, Math.max(rows, columns));
+        int shortest = Math.min(minLength, longest);
+        long available = countWords(shortest, longest);
+        if ((long) planted + missing > available) {
+            throw new IllegalArgumentException("A " + rows + "x" + columns + " grid only fits " + available
+                    + " words of " + shortest + " to " + longest + " letters that are not palindromes, but "
+                    + ((long) planted + missing) + " were asked for");
+        }
+
+        List<String> words = new ArrayList<>(planted + missing);
+        List<Long> placements = new ArrayList<>(planted);
+        Set<String> seen = new HashSet<>();
+        for (int w = 0; w < planted; w++) {
+            byte[] word = randomWord(random, shortest, longest, seen);
+            long placement = place(random, grid, word);
+            if (placement >= 0) {
+                words.add(decode(word));
+                placements.add(placement);
+            }
+        }
+        for (int i = 0; i < rows; i++) {
+            int index = grid.index(i, 0);
+            for (int j = 0; j < columns; j++, index++) {
+                if (cells[index] == Grid.BLANK) {
+                    cells[index] = (byte) random.nextInt(26);
+                }
+            }
+        }
+        int plantedCount = words.size();
+        for (int w = 0; w < missing; w++) {
+            words.add(decode(randomWord(random, shortest, longest, seen)));
+        }
+
+        int[] occurrences = new int[words.size()];
+        new TrieSearch(words).findAll(grid, (id, startRow, startColumn, endRow, endColumn, direction) ->
+                occurrences[id]++);
+        List<Integer> order = new ArrayList<>(words.size());
+        for (int id = 0; id < words.size(); id++) {
+            if (occurrences[id] == (id < plantedCount ? 1 : 0)) {
+                order.add(id);
+            }
+        }
+        for (int i = order.size() - 1; i > 0; i--) {
+            Collections.swap(order, i, random.nextInt(i + 1));
+        }
+        List<String> keptWords = new ArrayList<>(order.size());
+        List<String> answers = new ArrayList<>(order.size());
+        for (int id : order) {
+            String word = words.get(id);
+            keptWords.add(word);
+            answers.add(id < plantedCount ? WordSearch.formatResult(word, columns, placements.get(id))
+                    : WordSearch.formatMissing(word));
+        }
+        return new Generated(new Puzzle(grid, keptWords), answers);
+    }
+
+    /**
+     * @param random Source of random numbers.
+     * @param shortest Length of the shortest word.
+     * @param longest Length of the longest word.
+     * @param seen Words already generated. The new word is added to it.
+     * @return Letter codes of a new word that is not a palindrome.
+     * @throws IllegalArgumentException If no such word is drawn in 65536 tries.
+     */
+    private static byte[] randomWord(SplittableRandom random, int shortest, int longest, Set<String> seen) {
+        for (int attempt = 0; attempt < WORD_ATTEMPTS; attempt++) {
+            byte[] word = new byte[shortest + random.nextInt(longest - shortest + 1)];
+            for (int k = 0; k < word.length; k++) {
+                word[k] = (byte) random.nextInt(26);
+            }
+            if (!isPalindrome(word) && seen.add(decode(word))) {
+                return word;
+            }
+        }
+        throw new IllegalArgumentException("No new word of " + shortest + " to " + longest + " letters was found in "
+                + WORD_ATTEMPTS + " tries after " + seen.size() + " words; ask for fewer words");
+    }
+
+    /**
+     * @param shortest Length of the shortest word.
+     * @param longest Length of the longest word.
+     * @return Number of words of those lengths that are not palindromes, or Long.MAX_VALUE if there are more.
+     */
+    private static long countWords(int shortest, int longest) {
+        long count = 0;
+        for (int length = Math.max(shortest, 2); length <= longest; length++) {
+            if (length > 13) {
+                return Long.MAX_VALUE;
+            }
+            count += pow26(length) - pow26((length + 1) / 2);
+        }
+        return count;
+    }
+
+    private static long pow26(int exponent) {
+        long value = 1;
+        for (int i = 0; i < exponent; i++) {
+            value *= 26;
+        }
+        return value;
+    }
+
+    /**
+     * Plants a word at a random start cell and direction where it fits and every cell it covers is blank or already
+     * holds the same letter.
+     *
+     * @param random Source of random numbers.
+     * @param grid The grid being generated.
+     * @param word Letter codes of the word.
+     * @return The placement in the form returned by WordSearch.findWord, or -1 if no place was found.
+     */
+    private static long place(SplittableRandom random, Grid grid, byte[] word) {
+        byte[] cells = grid.cells();
+        int distance = word.length - 1;
+        for (int attempt = 0; attempt < PLACEMENT_ATTEMPTS; attempt++) {
+            int direction = random.nextInt(WordSearch.ROW_OFFSETS.length);
+            int rowOffset = WordSearch.ROW_OFFSETS[direction];
+            int columnOffset = WordSearch.COLUMN_OFFSETS[direction];
+            int rowChoices = grid.rows() - (rowOffset == 0 ? 0 : distance);
+            int columnChoices = grid.columns() - (columnOffset == 0 ? 0 : distance);
+            if (rowChoices <= 0 || columnChoices <= 0) {
+                continue;
+            }
+            int row = random.nextInt(rowChoices) + (rowOffset < 0 ? distance : 0);
+            int column = random.nextInt(columnChoices) + (columnOffset < 0 ? distance : 0);
+            int start = grid.index(row, column);
+            int step = grid.step(direction);
+            boolean fits = true;
+            for (int k = 0, index = start; k < word.length && fits; k++, index += step) {
+                fits = cells[index] == Grid.BLANK || cells[index] == word[k];
+            }
+            if (!fits) {
+                continue;
+            }
+            for (int k = 0, index = start; k < word.length; k++, index += step) {
+                cells[index] = word[k];
+            }
+            return ((long) row * grid.columns() + column) << 3 | direction;
+        }
+        return -1;
+    }
+
+    private static boolean isPalindrome(byte[] word) {
+        for (int i = 0, j = word.length - 1; i < j; i++, j--) {
+            if (word[i] != word[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String decode(byte[] word) {
+        char[] letters = new char[word.length];
+        for (int k = 0; k < word.length; k++) {
+            letters[k] = (char) ('A' + word[k]);
+        }
+        return new String(letters);
+    }
+
+    /**
+     * Writes a puzzle in the text format described in the README.
+     *
+     * @param file The file that will be written.
+     * @param puzzle The puzzle to write.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void write(Path file, Puzzle puzzle) throws IOException {
+        Grid grid = puzzle.grid();
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.US_ASCII)) {
+            writer.write(grid.rows() + "x" + grid.columns() + "\n");
+            char[] line = new char[grid.columns() * 2];
+            for (int i = 0; i < grid.rows(); i++) {
+                for (int j = 0; j < grid.columns(); j++) {
+                    line[2 * j] = grid.letterAt(i, j);
+                    line[2 * j + 1] = j + 1 < grid.columns() ? ' ' : '\n';
+                }
+                writer.write(line);
+            }
+            for (String word : puzzle.words()) {
+                writer.write(word);
+                writer.write('\n');
+            }
+        }
+    }
+
+    /**
+     * A generated puzzle and the output that solving it must give.
+     */
+    public static final class Generated {
+        private final Puzzle puzzle;
+        private final List<String> answers;
+
+        Generated(Puzzle puzzle, List<String> answers) {
+            this.puzzle = puzzle;
+            this.answers = Collections.unmodifiableList(answers);
+        }
+
+        /**
+         * @return The generated puzzle.
+         */
+        public Puzzle puzzle() {
+            return puzzle;
+        }
+
+        /**
+         * @return Strings that indicate the starting and ending indices of each word, or that the word doesn't exist,
+         * in the order of the puzzle's words.
+         */
+        public List<String> answers() {
+            return answers;
+        }
+    }
+}
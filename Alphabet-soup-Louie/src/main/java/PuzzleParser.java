@@ -0,0 +1,327 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class reads puzzles in the format described in the README straight from a channel. The input is read in large
+ * blocks into one reusable buffer and the letters are decoded directly into the grid's byte array, so no objects are
+ * created per cell or per row; only the words become Strings. Errors report the line and column they were found at.
+ * A parser can be reused for any number of files, but only by one thread at a time.
+ */
+public class PuzzleParser {
+    private static final int BUFFER_SIZE = 1 << 18;
+
+    private final long maxCells;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private final byte[] bytes = buffer.array();
+    private ReadableByteChannel channel;
+    private int position;
+    private int limit;
+    private long line;
+    private long column;
+    private byte[] word = new byte[64];
+
+    /**
+     * Creates a parser for grids of any size that fits in memory.
+     */
+    public PuzzleParser() {
+        this(Long.MAX_VALUE);
+    }
+
+    /**
+     * Creates a parser that rejects larger grids as soon as it reads their size, before any memory is allocated for
+     * them.
+     *
+     * @param maxCells Largest number of cells a grid may have.
+     */
+    public PuzzleParser(long maxCells) {
+        this.maxCells = maxCells;
+    }
+
+    /**
+     * Reads a puzzle from a file.
+     *
+     * @param file The input file that will be read.
+     * @return The puzzle from the file.
+     * @throws IOException If the file cannot be read.
+     * @throws NumberFormatException If the grid size is not a pair of numbers.
+     * @throws IllegalArgumentException If the input file is not in the expected format or has no words to find.
+     */
+    public Puzzle parse(Path file) throws IOException {
+        try (FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return parse(fileChannel);
+        }
+    }
+
+    /**
+     * Reads a puzzle from a channel until the end of the channel. The channel is not closed.
+     *
+     * @param input Channel to read the puzzle from.
+     * @return The puzzle that was read.
+     * @throws IOException If the channel fails.
+     * @throws NumberFormatException If the grid size is not a pair of numbers.
+     * @throws IllegalArgumentException If the input is not in the expected format or has no words to find.
+     */
+    public Puzzle parse(ReadableByteChannel input) throws IOException {
+        if (!SolverMetrics.ENABLED) {
+            return read(input);
+        }
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            Puzzle puzzle = read(input);
+            failed = false;
+            return puzzle;
+        } finally {
+            SolverMetrics.parsed(System.nanoTime() - start, failed);
+        }
+    }
+
+    /**
+     * Reads a puzzle from a channel until the end of the channel.
+     *
+     * @param input Channel to read the puzzle from.
+     * @return The puzzle that was read.
+     */
+    private Puzzle read(ReadableByteChannel input) throws IOException {
+        start(input);
+        try {
+            int rows = readNumber('x');
+            int columns = readNumber('\n');
+            if (rows <= 0 || columns <= 0) {
+                throw new IllegalArgumentException("Grid size is not valid");
+            }
+            if ((long) rows * columns > maxCells) {
+                throw new IllegalArgumentException("Grid of " + rows + "x" + columns + " has more than " + maxCells
+                        + " cells");
+            }
+            Grid grid = new Grid(rows, columns);
+            readGrid(grid);
+            List<String> words = readWords();
+            Puzzle puzzle = new Puzzle(grid, words);
+            if (puzzle.words().isEmpty()) {
+                throw new IllegalArgumentException("There are no hidden words to search for");
+            }
+            return puzzle;
+        } finally {
+            channel = null;
+        }
+    }
+
+    /**
+     * Starts reading a new input from its first byte. parse does this itself; it is only needed to read an input one
+     * part at a time with readNumber, readRow and readWords.
+     *
+     * @param input Channel to read from.
+     */
+    void start(ReadableByteChannel input) {
+        channel = input;
+        position = 0;
+        limit = 0;
+        line = 1;
+        column = 0;
+    }
+
+    /**
+     * Reads a positive decimal number from the grid size line.
+     *
+     * @param terminator Character expected after the number.
+     * @return The number.
+     * @throws NumberFormatException If the number is missing, too large or not followed by the terminator.
+     */
+    int readNumber(char terminator) throws IOException {
+        long value = 0;
+        int digits = 0;
+        int b = next();
+        while (b >= '0' && b <= '9') {
+            value = value * 10 + (b - '0');
+            if (value > Integer.MAX_VALUE) {
+                throw new NumberFormatException(at() + "The grid size is too large");
+            }
+            digits++;
+            b = next();
+        }
+        if (terminator == '\n' && b == '\r') {
+            b = next();
+        }
+        if (digits == 0 || (b != terminator && !(terminator == '\n' && b == -1))) {
+            throw new NumberFormatException(at() + "The input file contains invalid row and column dimensions, found "
+                    + describe(b));
+        }
+        if (b == '\n') {
+            newLine();
+        }
+        return (int) value;
+    }
+
+    /**
+     * Reads the rows of letters into the grid. Each row has one letter per column, separated by single spaces.
+     *
+     * @param grid Grid to fill. Its cells are written directly.
+     */
+    private void readGrid(Grid grid) throws IOException {
+        for (int i = 0; i < grid.rows(); i++) {
+            readRow(grid, i, i, grid.rows());
+        }
+    }
+
+    /**
+     * Reads one row of letters into a row of a grid, which may hold only part of the puzzle's rows.
+     *
+     * @param grid Grid to fill. Its cells are written directly.
+     * @param gridRow Row of the grid the letters are written to.
+     * @param row Row of the puzzle being read, for error messages.
+     * @param rows Number of rows in the puzzle, for error messages.
+     */
+    void readRow(Grid grid, int gridRow, int row, int rows) throws IOException {
+        byte[] cells = grid.cells();
+        int columns = grid.columns();
+        int index = grid.index(gridRow, 0);
+        for (int j = 0; j < columns; j++) {
+            int b = next();
+            if (b == -1) {
+                throw new IllegalArgumentException(at() + "The input has " + row + " rows but the grid size is "
+                        + rows);
+            }
+            int letter = (b & ~0x20) - 'A';
+            if (letter < 0 || letter >= 26) {
+                if (b == '\n' || b == '\r') {
+                    throw new IllegalArgumentException(at() + "Row " + row + " has " + j
+                            + " columns but the grid size is " + columns);
+                }
+                throw new IllegalArgumentException(at() + "The grid inputs should only contain alphabetical "
+                        + "characters, found " + describe(b));
+            }
+            cells[index + j] = (byte) letter;
+
+            b = next();
+            if (j + 1 < columns && b != ' ') {
+                if (b == '\n' || b == '\r' || b == -1) {
+                    throw new IllegalArgumentException(at() + "Row " + row + " has " + (j + 1)
+                            + " columns but the grid size is " + columns);
+                }
+                throw new IllegalArgumentException(at() + "Expected a space between letters, found " + describe(b));
+            }
+            if (j + 1 == columns) {
+                endRow(b, row, columns);
+            }
+        }
+    }
+
+    /**
+     * Checks that nothing but spaces follows the last letter of a row, and moves to the next line.
+     *
+     * @param b Character after the last letter.
+     * @param row Row that was read.
+     * @param columns Number of columns in the grid.
+     */
+    private void endRow(int b, int row, int columns) throws IOException {
+        while (b == ' ' || b == '\r') {
+            b = next();
+        }
+        if (b == '\n') {
+            newLine();
+        } else if (b != -1) {
+            throw new IllegalArgumentException(at() + "Row " + row + " has more than " + columns
+                    + " columns, found " + describe(b));
+        }
+    }
+
+    /**
+     * Reads the remaining lines as words.
+     *
+     * @return The words, including empty lines.
+     */
+    List<String> readWords() throws IOException {
+        List<String> words = new ArrayList<>();
+        int length = 0;
+        int b;
+        while ((b = next()) != -1) {
+            if (b == '\n') {
+                words.add(toWord(length));
+                length = 0;
+                newLine();
+                continue;
+            }
+            if (length == word.length) {
+                word = Arrays.copyOf(word, length * 2);
+            }
+            word[length++] = (byte) b;
+        }
+        if (length > 0) {
+            words.add(toWord(length));
+        }
+        return words;
+    }
+
+    /**
+     * @param length Number of bytes of the word that were read.
+     * @return The word, without a trailing carriage return.
+     */
+    private String toWord(int length) {
+        if (length > 0 && word[length - 1] == '\r') {
+            length--;
+        }
+        return new String(word, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return The next byte of the input, or -1 at the end of the input.
+     */
+    private int next() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        column++;
+        return bytes[position++] & 0xff;
+    }
+
+    /**
+     * Reads the next block of the input into the buffer.
+     *
+     * @return Boolean of whether any input was read.
+     */
+    private boolean fill() throws IOException {
+        buffer.clear();
+        int read;
+        do {
+            read = channel.read(buffer);
+        } while (read == 0);
+        position = 0;
+        limit = Math.max(read, 0);
+        return read > 0;
+    }
+
+    private void newLine() {
+        line++;
+        column = 0;
+    }
+
+    /**
+     * @return Prefix for an error message giving the position of the last character read.
+     */
+    private String at() {
+        return "Line " + line + ", column " + column + ": ";
+    }
+
+    /**
+     * @param b A byte of the input, or -1 for the end of the input.
+     * @return Description of the byte for an error message.
+     */
+    private static String describe(int b) {
+        if (b == -1) {
+            return "the end of the input";
+        }
+        if (b == '\n' || b == '\r') {
+            return "the end of the line";
+        }
+        return b >= ' ' && b < 127 ? "'" + (char) b + "'" : "byte " + (b & 0xff);
+    }
+}
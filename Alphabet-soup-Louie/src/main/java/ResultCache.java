@@ -0,0 +1,310 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * This class remembers the result of searching a grid for a word, so a word list that is solved again after a small
+ * change only searches the words that changed. Results are keyed by the grid's fingerprint and the word upper-cased the
+ * same way searches compare it, together with the grid's size, so a fingerprint collision between grids of different
+ * sizes can never return a wrong result. Words that were not found are remembered too. The cache holds a fixed number
+ * of results and forgets the least recently used one first. It can be saved to a file and loaded again by a later
+ * run. A cache can be shared between threads.
+ */
+public class ResultCache {
+    /**
+     * Returned by get for a word that is not in the cache. Found and missing words are never negative or -1.
+     */
+    public static final long UNKNOWN = -2;
+
+    private static final int MAGIC = 0x57535243;
+    private static final int VERSION = 2;
+    /**
+     * Smallest number of bytes one saved result takes: fingerprint, rows, columns, word length and match.
+     */
+    private static final int MIN_ENTRY_SIZE = 8 + 4 + 4 + 4 + 8;
+
+    private final int maxEntries;
+    private final Map<Key, Long> results;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param maxEntries Number of results the cache holds before it forgets the least recently used one.
+     * @throws IllegalArgumentException If maxEntries is not positive.
+     */
+    public ResultCache(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Maximum number of entries must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.results = new LinkedHashMap<Key, Long>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Long> eldest) {
+                if (size() > ResultCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Searches the grid for a word in the same way as WordSearch.searchWord, using the cached result if there is one.
+     *
+     * @param grid The grid with scrambled words embedded within it.
+     * @param word The word that is being searched for.
+     * @return String that indicates the starting and ending indices of the word or that the word doesn't exist.
+     * @throws IllegalArgumentException If it is not possible for the word to exist within the grid.
+     */
+    public String searchWord(Grid grid, String word) {
+        return WordSearch.formatResult(word, grid.columns(), find(grid, word));
+    }
+
+    /**
+     * Searches the grid for a word in the same way as WordSearch.findWord, using the cached result if there is one and
+     * caching the result otherwise.
+     *
+     * @param grid The grid with scrambled words embedded within it.
+     * @param word The word that is being searched for.
+     * @return The match in the form returned by WordSearch.findWord, or -1 if the word is not in the grid.
+     * @throws IllegalArgumentException If it is not possible for the word to exist within the grid.
+     */
+    public long find(Grid grid, String word) {
+        long match = get(grid, word);
+        if (match == UNKNOWN) {
+            match = WordSearch.findWord(grid, new WordBuffer().set(word));
+            put(grid, word, match);
+        }
+        return match;
+    }
+
+    /**
+     * Looks up the cached result of a search, counting a hit or a miss.
+     *
+     * @param grid The grid that was searched.
+     * @param word The word that was searched for.
+     * @return The match in the form returned by WordSearch.findWord, -1 if the word is not in the grid, or UNKNOWN if
+     * the result is not cached.
+     */
+    public long get(Grid grid, String word) {
+        Long match;
+        synchronized (results) {
+            match = results.get(new Key(grid, normalize(word)));
+        }
+        if (match == null) {
+            misses.increment();
+            return UNKNOWN;
+        }
+        hits.increment();
+        return match;
+    }
+
+    /**
+     * Caches the result of a search.
+     *
+     * @param grid The grid that was searched.
+     * @param word The word that was searched for.
+     * @param match The match in the form returned by WordSearch.findWord, or -1 if the word is not in the grid.
+     */
+    public void put(Grid grid, String word, long match) {
+        put(new Key(grid, normalize(word)), match);
+    }
+
+    private void put(Key key, long match) {
+        synchronized (results) {
+            results.put(key, match);
+        }
+    }
+
+    /**
+     * @return Number of results in the cache.
+     */
+    public int size() {
+        synchronized (results) {
+            return results.size();
+        }
+    }
+
+    /**
+     * @return Number of lookups that found a cached result.
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return Number of lookups that found no cached result.
+     */
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return Number of results forgotten to make room for newer ones.
+     */
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Writes every cached result to a file, least recently used first, so loading the file restores the same order.
+     * The file ends with a CRC32 of everything before it. It is written next to its destination and then moved into
+     * place.
+     *
+     * @param file The file that will be written.
+     * @throws IOException If the file cannot be written.
+     */
+    public void save(Path file) throws IOException {
+        Map<Key, Long> snapshot;
+        synchronized (results) {
+            snapshot = new LinkedHashMap<>(results);
+        }
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        CRC32 crc = new CRC32();
+        try (DataOutputStream out = new DataOutputStream(new CheckedOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(temporary)), crc))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(snapshot.size());
+            for (Map.Entry<Key, Long> entry : snapshot.entrySet()) {
+                Key key = entry.getKey();
+                byte[] word = key.word.getBytes(StandardCharsets.UTF_8);
+                out.writeLong(key.grid);
+                out.writeInt(key.rows);
+                out.writeInt(key.columns);
+                out.writeInt(word.length);
+                out.write(word);
+                out.writeLong(entry.getValue());
+            }
+            out.writeInt((int) crc.getValue());
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Adds the results saved in a file to the cache. Nothing is added unless the whole file is valid. Hit and miss
+     * counts are not changed.
+     *
+     * @param file A file written by save.
+     * @throws IOException If the file cannot be read.
+     * @throws IllegalArgumentException If the file was not written by save, is damaged, or holds a match outside its
+     * grid.
+     */
+    public void load(Path file) throws IOException {
+        long fileSize = Files.size(file);
+        CRC32 crc = new CRC32();
+        Map<Key, Long> loaded = new LinkedHashMap<>();
+        try (InputStream stream = Files.newInputStream(file);
+             DataInputStream in = new DataInputStream(new CheckedInputStream(new BufferedInputStream(stream), crc))) {
+            if (in.readInt() != MAGIC) {
+                throw new IllegalArgumentException("Not a result cache file: " + file);
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported result cache version " + version + ": " + file);
+            }
+            int count = in.readInt();
+            if (count < 0 || (long) count * MIN_ENTRY_SIZE > fileSize) {
+                throw new IllegalArgumentException("Result cache file is damaged: " + file);
+            }
+            for (int i = 0; i < count; i++) {
+                long grid = in.readLong();
+                int rows = in.readInt();
+                int columns = in.readInt();
+                int length = in.readInt();
+                if (rows <= 0 || columns <= 0 || length < 0 || length > fileSize) {
+                    throw new IllegalArgumentException("Result cache file is damaged: " + file);
+                }
+                byte[] word = new byte[length];
+                in.readFully(word);
+                long match = in.readLong();
+                if (match < -1 || match >= (long) rows * columns << 3) {
+                    throw new IllegalArgumentException("Result cache file has a match outside its grid: " + file);
+                }
+                loaded.put(new Key(grid, rows, columns, new String(word, StandardCharsets.UTF_8)), match);
+            }
+            int expected = (int) crc.getValue();
+            if (in.readInt() != expected || in.read() != -1) {
+                throw new IllegalArgumentException("Result cache file checksum does not match: " + file);
+            }
+        } catch (EOFException e) {
+            throw new IllegalArgumentException("Result cache file is truncated: " + file, e);
+        }
+        for (Map.Entry<Key, Long> entry : loaded.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Upper-cases a word one character at a time, as WordBuffer does, so words that search the same share a result.
+     *
+     * @param word A word.
+     * @return The upper-cased word.
+     */
+    private static String normalize(String word) {
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (Character.toUpperCase(c) != c) {
+                char[] chars = word.toCharArray();
+                for (int j = i; j < chars.length; j++) {
+                    chars[j] = Character.toUpperCase(chars[j]);
+                }
+                return new String(chars);
+            }
+        }
+        return word;
+    }
+
+    /**
+     * A grid fingerprint and size, and a normalized word.
+     */
+    private static final class Key {
+        final long grid;
+        final int rows;
+        final int columns;
+        final String word;
+
+        Key(Grid grid, String word) {
+            this(grid.fingerprint(), grid.rows(), grid.columns(), word);
+        }
+
+        Key(long grid, int rows, int columns, String word) {
+            this.grid = grid;
+            this.rows = rows;
+            this.columns = columns;
+            this.word = word;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+            return grid == key.grid && rows == key.rows && columns == key.columns && word.equals(key.word);
+        }
+
+        @Override
+        public int hashCode() {
+            return (Long.hashCode(grid) * 31 + rows * 17 + columns) * 31 + word.hashCode();
+        }
+    }
+}
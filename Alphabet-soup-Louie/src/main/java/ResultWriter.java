@@ -0,0 +1,235 @@
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * This class writes output lines in the format of WordSearch.formatResult into one reusable byte buffer, and hands the
+ * buffer to a channel only when it is full or flushed. Numbers are formatted digit by digit straight into the buffer,
+ * so writing a result creates no Strings. Lines are written in the order the write methods are called. A writer is
+ * meant to be used by one thread at a time.
+ */
+public class ResultWriter implements Flushable {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final byte[] MISSING = " doesn't exist in the grid\n".getBytes(StandardCharsets.US_ASCII);
+    /**
+     * Longest output of an int, including the sign.
+     */
+    private static final int MAX_INT_LENGTH = 11;
+
+    private final WritableByteChannel channel;
+    private ByteBuffer buffer;
+    private byte[] bytes;
+    private int position;
+
+    /**
+     * Creates a writer with a 64 KiB buffer.
+     *
+     * @param channel Channel the output is written to. It is not closed by the writer.
+     */
+    public ResultWriter(WritableByteChannel channel) {
+        this(channel, BUFFER_SIZE);
+    }
+
+    /**
+     * Creates a writer.
+     *
+     * @param channel Channel the output is written to. It is not closed by the writer.
+     * @param capacity Number of bytes buffered before they are written to the channel.
+     * @throws IllegalArgumentException If capacity is not positive.
+     */
+    public ResultWriter(WritableByteChannel channel, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate(capacity);
+        this.bytes = buffer.array();
+    }
+
+    /**
+     * Writes the results of a solved puzzle, one line per word in the puzzle's order.
+     *
+     * @param puzzle The puzzle that was solved.
+     * @param matches The match of each word in the same form as WordSearch.findWord, in the order of the puzzle's
+     * words.
+     * @throws IOException If the channel fails.
+     */
+    public void write(Puzzle puzzle, long[] matches) throws IOException {
+        int columns = puzzle.grid().columns();
+        for (int id = 0; id < matches.length; id++) {
+            writeResult(puzzle.words().get(id), columns, matches[id]);
+        }
+    }
+
+    /**
+     * Writes the same line as WordSearch.formatResult.
+     *
+     * @param word Word that was searched for.
+     * @param columns Number of columns in the grid that was searched.
+     * @param match Match in the form returned by WordSearch.findWord, or -1 if the word was not found.
+     * @throws IOException If the channel fails.
+     */
+    public void writeResult(String word, int columns, long match) throws IOException {
+        if (match < 0) {
+            writeMissing(word);
+            return;
+        }
+        long cell = match >>> 3;
+        int row = (int) (cell / columns);
+        int column = (int) (cell % columns);
+        int direction = (int) (match & 7);
+        int distance = word.length() - 1;
+        writeMatch(word, row, column, row + WordSearch.ROW_OFFSETS[direction] * distance,
+                column + WordSearch.COLUMN_OFFSETS[direction] * distance);
+    }
+
+    /**
+     * Writes the line for a word that was found, in the form "WORD r:c r:c".
+     *
+     * @param word Word that was found.
+     * @param startRow Row of the first character of the word.
+     * @param startColumn Column of the first character of the word.
+     * @param endRow Row of the last character of the word.
+     * @param endColumn Column of the last character of the word.
+     * @throws IOException If the channel fails.
+     */
+    public void writeMatch(String word, int startRow, int startColumn, int endRow, int endColumn) throws IOException {
+        writeText(word);
+        require(4 * MAX_INT_LENGTH + 4);
+        bytes[position++] = ' ';
+        writeInt(startRow);
+        bytes[position++] = ':';
+        writeInt(startColumn);
+        bytes[position++] = ' ';
+        writeInt(endRow);
+        bytes[position++] = ':';
+        writeInt(endColumn);
+        bytes[position++] = '\n';
+    }
+
+    /**
+     * Writes the line for a word that was not found.
+     *
+     * @param word Word that was not found.
+     * @throws IOException If the channel fails.
+     */
+    public void writeMissing(String word) throws IOException {
+        writeText(word);
+        require(MISSING.length);
+        System.arraycopy(MISSING, 0, bytes, position, MISSING.length);
+        position += MISSING.length;
+    }
+
+    /**
+     * Writes any other line, such as a header or an error message.
+     *
+     * @param line Line to write, without the line break.
+     * @throws IOException If the channel fails.
+     */
+    public void writeLine(String line) throws IOException {
+        writeText(line);
+        require(1);
+        bytes[position++] = '\n';
+    }
+
+    /**
+     * Writes the characters of a String. ASCII characters are copied one byte each; anything else is encoded as UTF-8.
+     *
+     * @param text Text to write.
+     */
+    private void writeText(String text) throws IOException {
+        int length = text.length();
+        require(length);
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c >= 0x80) {
+                byte[] encoded = text.substring(i).getBytes(StandardCharsets.UTF_8);
+                require(encoded.length);
+                System.arraycopy(encoded, 0, bytes, position, encoded.length);
+                position += encoded.length;
+                return;
+            }
+            bytes[position++] = (byte) c;
+        }
+    }
+
+    /**
+     * Writes an int in decimal. The caller must have made room for MAX_INT_LENGTH bytes.
+     *
+     * @param value Number to write.
+     */
+    private void writeInt(int value) {
+        if (value < 0) {
+            if (value == Integer.MIN_VALUE) {
+                for (byte b : Integer.toString(value).getBytes(StandardCharsets.US_ASCII)) {
+                    bytes[position++] = b;
+                }
+                return;
+            }
+            bytes[position++] = '-';
+            value = -value;
+        }
+        int end = position + digits(value);
+        int i = end;
+        do {
+            bytes[--i] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        position = end;
+    }
+
+    /**
+     * @param value A non-negative number.
+     * @return Number of decimal digits of the number.
+     */
+    private static int digits(int value) {
+        int digits = 1;
+        while (value >= 10) {
+            value /= 10;
+            digits++;
+        }
+        return digits;
+    }
+
+    /**
+     * Makes room for the given number of bytes, writing out the buffer first if they do not fit, and growing it if
+     * they would not fit even in an empty buffer.
+     *
+     * @param length Number of bytes about to be written.
+     */
+    private void require(int length) throws IOException {
+        if (bytes.length - position >= length) {
+            return;
+        }
+        flushBuffer();
+        if (bytes.length < length) {
+            buffer = ByteBuffer.allocate(length);
+            bytes = buffer.array();
+        }
+    }
+
+    /**
+     * Writes the buffered bytes to the channel.
+     */
+    private void flushBuffer() throws IOException {
+        buffer.clear().limit(position);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        position = 0;
+    }
+
+    /**
+     * Writes the buffered bytes to the channel.
+     *
+     * @throws IOException If the channel fails.
+     */
+    @Override
+    public void flush() throws IOException {
+        if (position > 0) {
+            flushBuffer();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class solves puzzles. A solver keeps no state between calls apart from an optional ResultCache and
+ * ParallelSearch, so a single instance can solve any number of puzzles at the same time from different threads.
+ */
+public class Solver {
+    /**
+     * Word lists up to this size are searched one word at a time. Larger lists are searched with a trie, which scans
+     * the grid once no matter how many words there are.
+     */
+    static final int TRIE_THRESHOLD = 8;
+    /**
+     * Grids with at least this many cells are split into bands of rows when a ParallelSearch is given.
+     */
+    private static final long PARALLEL_CELLS = 1 << 20;
+
+    private final ResultCache cache;
+    private final ParallelSearch parallel;
+
+    /**
+     * Creates a solver that searches for every word of every puzzle.
+     */
+    public Solver() {
+        this(null);
+    }
+
+    /**
+     * Creates a solver that only searches for words whose result is not already in the cache, and caches the results
+     * of those searches.
+     *
+     * @param cache Cache of earlier results, or null to always search.
+     */
+    public Solver(ResultCache cache) {
+        this(cache, null);
+    }
+
+    /**
+     * Creates a solver that searches large grids on several threads, each taking a band of rows. Long word lists are
+     * searched with a trie in each band.
+     *
+     * @param cache Cache of earlier results, or null to always search.
+     * @param parallel Search that splits large grids into bands of rows, or null to search on the calling thread.
+     * The solver does not close it.
+     */
+    public Solver(ResultCache cache, ParallelSearch parallel) {
+        this.cache = cache;
+        this.parallel = parallel;
+    }
+
+    /**
+     * Finds every word of the puzzle.
+     *
+     * @param puzzle The puzzle to solve.
+     * @return Strings that indicate the starting and ending indices of each word, or that the word doesn't exist, in
+     * the order of the puzzle's words.
+     * @throws IllegalArgumentException If it is not possible for one of the words to exist within the grid.
+     */
+    public List<String> solve(Puzzle puzzle) {
+        long[] matches = find(puzzle);
+        List<String> words = puzzle.words();
+        List<String> outputs = new ArrayList<>(words.size());
+        for (int id = 0; id < words.size(); id++) {
+            outputs.add(WordSearch.formatResult(words.get(id), puzzle.grid().columns(), matches[id]));
+        }
+        return outputs;
+    }
+
+    /**
+     * Finds every word of the puzzle.
+     *
+     * @param puzzle The puzzle to solve.
+     * @return The match of each word in the same form as WordSearch.findWord, in the order of the puzzle's words.
+     * @throws IllegalArgumentException If it is not possible for one of the words to exist within the grid.
+     */
+    public long[] find(Puzzle puzzle) {
+        long start = SolverMetrics.ENABLED ? System.nanoTime() : 0;
+        long[] matches = findCached(puzzle);
+        if (SolverMetrics.ENABLED) {
+            SolverMetrics.solved(System.nanoTime() - start);
+        }
+        return matches;
+    }
+
+    /**
+     * Finds every word of the puzzle, only searching for words the cache has no result for.
+     *
+     * @param puzzle The puzzle to solve.
+     * @return The match of each word in the same form as WordSearch.findWord, in the order of the puzzle's words.
+     */
+    private long[] findCached(Puzzle puzzle) {
+        if (cache == null) {
+            return find(puzzle.grid(), puzzle.words());
+        }
+        Grid grid = puzzle.grid();
+        List<String> words = puzzle.words();
+        long[] matches = new long[words.size()];
+        List<String> uncached = new ArrayList<>();
+        for (int id = 0; id < matches.length; id++) {
+            matches[id] = cache.get(grid, words.get(id));
+            if (matches[id] == ResultCache.UNKNOWN) {
+                uncached.add(words.get(id));
+            }
+        }
+        if (uncached.isEmpty()) {
+            return matches;
+        }
+        long[] found = find(grid, uncached);
+        for (int id = 0, next = 0; id < matches.length; id++) {
+            if (matches[id] == ResultCache.UNKNOWN) {
+                matches[id] = found[next++];
+                cache.put(grid, words.get(id), matches[id]);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Searches the grid for every word, with a trie for long word lists and one word at a time otherwise. Large grids
+     * are searched by bands of rows on the ParallelSearch, if there is one.
+     *
+     * @param grid The grid with scrambled words embedded within it.
+     * @param words Words to search for.
+     * @return The match of each word in the same form as WordSearch.findWord, in word list order.
+     */
+    private long[] find(Grid grid, List<String> words) {
+        if (parallel != null && (long) grid.rows() * grid.columns() >= PARALLEL_CELLS) {
+            return parallel.find(grid, words);
+        }
+        if (words.size() > TRIE_THRESHOLD) {
+            return new TrieSearch(words).find(grid);
+        }
+        long[] matches = new long[words.size()];
+        WordBuffer buffer = new WordBuffer();
+        for (int id = 0; id < matches.length; id++) {
+            long start = SolverMetrics.ENABLED ? System.nanoTime() : 0;
+            matches[id] = WordSearch.findWord(grid, buffer.set(words.get(id)));
+            if (SolverMetrics.ENABLED) {
+                SolverMetrics.wordSearched(System.nanoTime() - start);
+            }
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,191 @@
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * This class counts the work the solver does, for finding out where time goes. It is turned on by starting the JVM
+ * with -Dwordsearch.metrics=true, and then registers itself with the platform MBean server as
+ * "WordSearch:type=SolverMetrics" and can print a summary at the end of a run.
+ * <p>
+ * Every place that records a metric checks ENABLED first. It is a static final field, so when metrics are off the JIT
+ * compiler removes those checks and the counting code along with them. Searches keep their counts in local variables
+ * and add them once per search, so the shared counters are not touched inside the inner loops.
+ */
+public final class SolverMetrics implements SolverMetricsMBean {
+    /**
+     * Boolean of whether metrics are recorded.
+     */
+    public static final boolean ENABLED = Boolean.getBoolean("wordsearch.metrics");
+    public static final String OBJECT_NAME = "WordSearch:type=SolverMetrics";
+
+    private static final SolverMetrics INSTANCE = new SolverMetrics();
+
+    private final LongAdder cellsVisited = new LongAdder();
+    private final LongAdder candidateStarts = new LongAdder();
+    private final LongAdder directionProbes = new LongAdder();
+    private final LongAdder charactersCompared = new LongAdder();
+    private final LongAdder parseErrors = new LongAdder();
+    private final LatencyHistogram parseLatency = new LatencyHistogram();
+    private final LatencyHistogram solveLatency = new LatencyHistogram();
+    private final LatencyHistogram wordLatency = new LatencyHistogram();
+
+    static {
+        if (ENABLED) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(INSTANCE, new ObjectName(OBJECT_NAME));
+            } catch (InstanceAlreadyExistsException e) {
+                // Another class loader registered its metrics first; this one is still counted and summarized.
+            } catch (JMException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private SolverMetrics() {
+    }
+
+    /**
+     * @return The metrics of this JVM.
+     */
+    public static SolverMetrics get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Records the work of one search.
+     *
+     * @param cells Number of grid cells and letter index entries the search read, counting a cell again each time a
+     * direction steps through it.
+     * @param starts Number of cells the search tried as the start of a word.
+     * @param probes Number of directions the search checked from those cells.
+     */
+    static void searched(long cells, long starts, long probes) {
+        INSTANCE.cellsVisited.add(cells);
+        INSTANCE.candidateStarts.add(starts);
+        INSTANCE.directionProbes.add(probes);
+    }
+
+    /**
+     * @param characters Number of grid cells compared with characters of words.
+     */
+    static void compared(long characters) {
+        INSTANCE.charactersCompared.add(characters);
+    }
+
+    /**
+     * @param nanos Time taken to parse one puzzle, whether or not it was valid.
+     * @param failed Boolean of whether the puzzle was rejected.
+     */
+    static void parsed(long nanos, boolean failed) {
+        INSTANCE.parseLatency.record(nanos);
+        if (failed) {
+            INSTANCE.parseErrors.increment();
+        }
+    }
+
+    /**
+     * @param nanos Time taken to find every word of one puzzle.
+     */
+    static void solved(long nanos) {
+        INSTANCE.solveLatency.record(nanos);
+    }
+
+    /**
+     * @param nanos Time taken to search for one word on its own. Words found together by a trie or split across
+     * threads are not recorded, since no time belongs to one word.
+     */
+    static void wordSearched(long nanos) {
+        INSTANCE.wordLatency.record(nanos);
+    }
+
+    @Override
+    public long getCellsVisited() {
+        return cellsVisited.sum();
+    }
+
+    @Override
+    public long getCandidateStarts() {
+        return candidateStarts.sum();
+    }
+
+    @Override
+    public long getDirectionProbes() {
+        return directionProbes.sum();
+    }
+
+    @Override
+    public long getCharactersCompared() {
+        return charactersCompared.sum();
+    }
+
+    @Override
+    public long getPuzzlesParsed() {
+        return parseLatency.count();
+    }
+
+    @Override
+    public long getParseErrors() {
+        return parseErrors.sum();
+    }
+
+    @Override
+    public long getParseP50Micros() {
+        return micros(parseLatency.percentile(50));
+    }
+
+    @Override
+    public long getParseP99Micros() {
+        return micros(parseLatency.percentile(99));
+    }
+
+    @Override
+    public long getPuzzlesSolved() {
+        return solveLatency.count();
+    }
+
+    @Override
+    public long getSolveP50Micros() {
+        return micros(solveLatency.percentile(50));
+    }
+
+    @Override
+    public long getSolveP99Micros() {
+        return micros(solveLatency.percentile(99));
+    }
+
+    @Override
+    public long getWordsSearched() {
+        return wordLatency.count();
+    }
+
+    @Override
+    public long getWordP50Micros() {
+        return micros(wordLatency.percentile(50));
+    }
+
+    @Override
+    public long getWordP99Micros() {
+        return micros(wordLatency.percentile(99));
+    }
+
+    /**
+     * @return A few lines describing everything recorded so far, for printing at the end of a run.
+     */
+    public String summary() {
+        return String.format("Solver metrics:%n"
+                        + "  parse: %d puzzles, %d errors, p50 %d us, p99 %d us%n"
+                        + "  solve: %d puzzles, p50 %d us, p99 %d us%n"
+                        + "  words searched one at a time: %d, p50 %d us, p99 %d us%n"
+                        + "  cells visited %d, candidate starts %d, direction probes %d, characters compared %d",
+                getPuzzlesParsed(), getParseErrors(), getParseP50Micros(), getParseP99Micros(),
+                getPuzzlesSolved(), getSolveP50Micros(), getSolveP99Micros(),
+                getWordsSearched(), getWordP50Micros(), getWordP99Micros(),
+                getCellsVisited(), getCandidateStarts(), getDirectionProbes(), getCharactersCompared());
+    }
+
+    private static long micros(long nanos) {
+        return (nanos + 500) / 1000;
+    }
+}
@@ -0,0 +1,34 @@
+/**
+ * The attributes SolverMetrics exposes through JMX. Latencies are in microseconds. The word latencies only cover words
+ * searched one at a time on the calling thread, which Solver does for lists of up to 8 words; longer lists are searched
+ * with a trie and only counted in the solve latencies.
+ */
+public interface SolverMetricsMBean {
+    long getCellsVisited();
+
+    long getCandidateStarts();
+
+    long getDirectionProbes();
+
+    long getCharactersCompared();
+
+    long getPuzzlesParsed();
+
+    long getParseErrors();
+
+    long getParseP50Micros();
+
+    long getParseP99Micros();
+
+    long getPuzzlesSolved();
+
+    long getSolveP50Micros();
+
+    long getSolveP99Micros();
+
+    long getWordsSearched();
+
+    long getWordP50Micros();
+
+    long getWordP99Micros();
+}
@@ -0,0 +1,349 @@
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketAddress;
+import java.net.SocketException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * This class keeps one JVM running to solve a stream of puzzles, so the solver stays compiled and the indexes built for
+ * a grid are reused when the same grid comes back with a new word list. Grids are remembered by their fingerprint, up
+ * to a fixed number of them, and the least recently used grid is forgotten first.
+ * <p>
+ * A request is a puzzle in the format described in the README followed by a line holding a single ".". The response is
+ * one line per word, as WordSearch prints them, or an "error:" line if the puzzle cannot be solved, followed by a "#"
+ * line with the latency of the request and the p50 and p99 latency of every request so far, and then a "." line.
+ * Requests can come from standard input or from connections to a port on the loopback interface. A request that is
+ * larger than the request size limit, or whose grid has more cells than the cell limit, is answered with an error
+ * without being held in memory. Any other failure to solve a request is also answered with an "error:" line, so a
+ * connection is only dropped when its socket fails.
+ */
+public class SolverServer implements Closeable {
+    /**
+     * Default largest number of bytes in one request.
+     */
+    public static final int DEFAULT_MAX_REQUEST_BYTES = 64 << 20;
+    /**
+     * Default largest number of cells in the grid of one request.
+     */
+    public static final long DEFAULT_MAX_CELLS = 16L << 20;
+    /**
+     * Default number of grids whose indexes are kept between requests.
+     */
+    public static final int DEFAULT_MAX_GRIDS = 8;
+
+    private final Solver solver = new Solver();
+    private final ThreadLocal<PuzzleParser> parsers;
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final int maxRequestBytes;
+    private final Map<Long, Grid> grids;
+    private long gridHits;
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+    private ServerSocket serverSocket;
+    private boolean closed;
+
+    /**
+     * Creates a server that accepts requests of up to 64 MiB with grids of up to 16 Mi cells, and remembers up to 8
+     * grids.
+     */
+    public SolverServer() {
+        this(DEFAULT_MAX_REQUEST_BYTES, DEFAULT_MAX_CELLS, DEFAULT_MAX_GRIDS);
+    }
+
+    /**
+     * Creates a server.
+     *
+     * @param maxRequestBytes Largest number of bytes in one request, not counting its "." line.
+     * @param maxCells Largest number of cells in the grid of one request.
+     * @param maxGrids Number of grids whose indexes are kept between requests, or 0 to keep none.
+     * @throws IllegalArgumentException If either request limit is not positive or maxGrids is negative.
+     */
+    public SolverServer(int maxRequestBytes, long maxCells, int maxGrids) {
+        if (maxRequestBytes <= 0 || maxCells <= 0) {
+            throw new IllegalArgumentException("Request limits must be positive");
+        }
+        if (maxGrids < 0) {
+            throw new IllegalArgumentException("Maximum number of grids must not be negative");
+        }
+        this.maxRequestBytes = maxRequestBytes;
+        this.parsers = ThreadLocal.withInitial(() -> new PuzzleParser(maxCells));
+        this.grids = new LinkedHashMap<Long, Grid>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Grid> eldest) {
+                return size() > maxGrids;
+            }
+        };
+    }
+
+    /**
+     * Opens the listening socket on a port of the loopback interface. Connections are queued until listen accepts
+     * them.
+     *
+     * @param port Port to listen on, or 0 for any free port.
+     * @return Address the server is listening on.
+     * @throws IOException If the socket cannot be opened.
+     * @throws IllegalStateException If the server is already open or has been closed.
+     */
+    public synchronized SocketAddress open(int port) throws IOException {
+        if (closed || serverSocket != null) {
+            throw new IllegalStateException(closed ? "The server is closed" : "The server is already open");
+        }
+        serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        return serverSocket.getLocalSocketAddress();
+    }
+
+    /**
+     * Accepts connections on the opened socket until the server is closed. Each connection is served on its own
+     * thread. A connection whose socket fails is closed and its exception passed to the failure handler, unless the
+     * failure was caused by closing the server.
+     *
+     * @param failures Receiver of the exceptions of failed connections. It is called from the connection's thread.
+     * @throws IOException If the listening socket fails.
+     * @throws IllegalStateException If the server has not been opened.
+     */
+    public void listen(Consumer<IOException> failures) throws IOException {
+        ServerSocket server;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            if (serverSocket == null) {
+                throw new IllegalStateException("The server is not open");
+            }
+            server = serverSocket;
+        }
+        try (ServerSocket listening = server) {
+            while (true) {
+                Socket socket;
+                try {
+                    socket = listening.accept();
+                } catch (SocketException e) {
+                    if (isClosed()) {
+                        return;
+                    }
+                    throw e;
+                }
+                connections.add(socket);
+                if (isClosed()) {
+                    socket.close();
+                    return;
+                }
+                Thread thread = new Thread(() -> {
+                    try (Socket connection = socket) {
+                        serve(connection.getInputStream(), connection.getOutputStream());
+                    } catch (IOException e) {
+                        if (!isClosed()) {
+                            failures.accept(e);
+                        }
+                    } finally {
+                        connections.remove(socket);
+                    }
+                }, "solver-connection");
+                thread.setDaemon(true);
+                thread.start();
+            }
+        }
+    }
+
+    /**
+     * @return The port the server is listening on, or -1 if it is not open.
+     */
+    public synchronized int port() {
+        return serverSocket == null || closed ? -1 : serverSocket.getLocalPort();
+    }
+
+    /**
+     * Stops listening and closes every open connection. listen returns once the server is closed, and a server cannot
+     * be opened again after it is closed.
+     *
+     * @throws IOException If a socket fails to close.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            closed = true;
+            if (serverSocket != null) {
+                serverSocket.close();
+            }
+        }
+        for (Socket socket : connections) {
+            socket.close();
+        }
+    }
+
+    private synchronized boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Answers requests from one input until it ends. A puzzle at the end of the input is answered even if it has no
+     * "." line.
+     *
+     * @param in Stream of requests.
+     * @param out Stream the responses are written to. Each response is flushed as soon as it is complete.
+     * @throws IOException If reading or writing fails.
+     */
+    public void serve(InputStream in, OutputStream out) throws IOException {
+        InputStream input = new BufferedInputStream(in, 1 << 16);
+        ResultWriter writer = new ResultWriter(Channels.newChannel(out));
+        ByteArrayOutputStream request = new ByteArrayOutputStream();
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        long size;
+        while ((size = readRequest(input, request, line)) >= 0) {
+            long start = System.nanoTime();
+            try {
+                if (size > maxRequestBytes) {
+                    throw new IllegalArgumentException("Request of " + size + " bytes is larger than the limit of "
+                            + maxRequestBytes + " bytes");
+                }
+                Puzzle puzzle = load(request);
+                writer.write(puzzle, solver.find(puzzle));
+            } catch (IllegalArgumentException e) {
+                writer.writeLine("error: " + e.getMessage());
+            } catch (RuntimeException e) {
+                writer.writeLine("error: " + e);
+            }
+            long nanos = System.nanoTime() - start;
+            latencies.record(nanos);
+            writer.writeLine("# latency " + micros(nanos) + " us, p50 " + micros(latencies.percentile(50))
+                    + " us, p99 " + micros(latencies.percentile(99)) + " us, " + latencies.count() + " requests");
+            writer.writeLine(".");
+            writer.flush();
+            request.reset();
+        }
+        writer.flush();
+    }
+
+    /**
+     * Reads the lines of one request, up to but not including its "." line. Only the first maxRequestBytes bytes are
+     * kept; the rest of a larger request is read and dropped.
+     *
+     * @param input Stream of requests.
+     * @param request Buffer the request is copied into.
+     * @param line Buffer for the line being read.
+     * @return Number of bytes in the request, or -1 if the input ended with no request.
+     */
+    private long readRequest(InputStream input, ByteArrayOutputStream request, ByteArrayOutputStream line)
+            throws IOException {
+        long size = 0;
+        long lineLength = 0;
+        int b;
+        while ((b = input.read()) != -1) {
+            if (b != '\n') {
+                if (lineLength < 2 || size + lineLength < maxRequestBytes) {
+                    line.write(b);
+                }
+                lineLength++;
+                continue;
+            }
+            if (lineLength <= 2 && isEnd(line)) {
+                line.reset();
+                return size;
+            }
+            size += lineLength + 1;
+            if (size <= maxRequestBytes) {
+                line.writeTo(request);
+                request.write('\n');
+            }
+            line.reset();
+            lineLength = 0;
+        }
+        size += lineLength;
+        if (size <= maxRequestBytes) {
+            line.writeTo(request);
+        }
+        line.reset();
+        return size > 0 ? size : -1;
+    }
+
+    /**
+     * @param line A line without its line break.
+     * @return Boolean of whether the line ends a request.
+     */
+    private static boolean isEnd(ByteArrayOutputStream line) {
+        return line.size() == 1 && line.toString(StandardCharsets.US_ASCII).equals(".")
+                || line.size() == 2 && line.toString(StandardCharsets.US_ASCII).equals(".\r");
+    }
+
+    /**
+     * Parses a request and swaps its grid for the remembered grid with the same letters, if there is one.
+     *
+     * @param request Bytes of the puzzle.
+     * @return The puzzle, with a grid whose indexes may already be built.
+     * @throws IllegalArgumentException If the request is not a valid puzzle or its grid is too large.
+     */
+    private Puzzle load(ByteArrayOutputStream request) {
+        Puzzle puzzle;
+        try {
+            puzzle = parsers.get().parse(Channels.newChannel(new ByteArrayInputStream(request.toByteArray())));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Grid grid = intern(puzzle.grid());
+        return grid == puzzle.grid() ? puzzle : new Puzzle(grid, puzzle.words());
+    }
+
+    /**
+     * Returns the remembered grid with the same letters as the given grid, or remembers the given grid. A grid whose
+     * fingerprint matches but whose letters differ replaces the remembered one, so a collision never returns the wrong
+     * grid.
+     *
+     * @param grid A newly parsed grid.
+     * @return The grid to search.
+     */
+    Grid intern(Grid grid) {
+        long key = grid.fingerprint();
+        synchronized (grids) {
+            Grid cached = grids.get(key);
+            if (cached != null && cached.sameLetters(grid)) {
+                gridHits++;
+                return cached;
+            }
+            grids.put(key, grid);
+            return grid;
+        }
+    }
+
+    /**
+     * @return Number of requests whose grid was already remembered.
+     */
+    public long gridHits() {
+        synchronized (grids) {
+            return gridHits;
+        }
+    }
+
+    /**
+     * @return Number of grids currently remembered.
+     */
+    public int cachedGrids() {
+        synchronized (grids) {
+            return grids.size();
+        }
+    }
+
+    /**
+     * @return Latencies of every request answered so far.
+     */
+    public LatencyHistogram latencies() {
+        return latencies;
+    }
+
+    private static long micros(long nanos) {
+        return (nanos + 500) / 1000;
+    }
+}
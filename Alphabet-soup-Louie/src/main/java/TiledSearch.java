@@ -0,0 +1,348 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * This class searches puzzle files whose grid is too large to hold in memory. The words are read first, by seeking
+ * straight to the end of the grid, and then the grid is streamed from the file in bands of whole rows. Each band is
+ * loaded with the longest word length minus one rows of overlap above and below it, so every word that starts in the
+ * band fits in the loaded rows, and a band only reports words that start in its own rows. Every occurrence is
+ * therefore found by exactly one band, and only two bands are held in memory at a time, however large the grid is.
+ * Bands are searched with a TrieSearch straight from their cells, without the letter index or histogram a Grid builds
+ * for other searches, and the words are streamed from the file, so memory use peaks at about two bytes per tile cell
+ * plus the words and their trie.
+ */
+public class TiledSearch {
+    /**
+     * Default number of grid cells loaded at once for a band, including its overlap.
+     */
+    public static final long DEFAULT_TILE_CELLS = 64L << 20;
+
+    /**
+     * Grids with more columns than this have their rows read through instead of seeking past them, so checking a row
+     * never allocates more than 32 MiB.
+     */
+    private static final int MAX_SEEK_COLUMNS = 1 << 24;
+
+    private final long maxTileCells;
+
+    /**
+     * Creates a search that loads up to 64 Mi cells at a time.
+     */
+    public TiledSearch() {
+        this(DEFAULT_TILE_CELLS);
+    }
+
+    /**
+     * Creates a search.
+     *
+     * @param maxTileCells Number of grid cells to load at once for a band. A band always has at least one row of its
+     * own, so the limit is exceeded when a single row and its overlap hold more cells than this.
+     * @throws IllegalArgumentException If maxTileCells is not positive.
+     */
+    public TiledSearch(long maxTileCells) {
+        if (maxTileCells <= 0) {
+            throw new IllegalArgumentException("Tile size must be positive");
+        }
+        this.maxTileCells = maxTileCells;
+    }
+
+    /**
+     * Reads the words of a puzzle file without reading its grid. Repeated and empty words are dropped, as Puzzle
+     * does.
+     *
+     * @param file A puzzle file in the format described in the README.
+     * @return The words to find, in output order.
+     * @throws IOException If the file cannot be read.
+     * @throws NumberFormatException If the grid size is not a pair of numbers.
+     * @throws IllegalArgumentException If the file has no words to find.
+     */
+    public List<String> words(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return readWords(channel, readSize(channel));
+        }
+    }
+
+    /**
+     * Finds every word of a puzzle file, giving the same results as solving the loaded puzzle with a Solver.
+     *
+     * @param file A puzzle file in the format described in the README.
+     * @return Strings that indicate the starting and ending indices of each word, or that the word doesn't exist, in
+     * the order of the file's words.
+     * @throws IOException If the file cannot be read.
+     * @throws NumberFormatException If the grid size is not a pair of numbers.
+     * @throws IllegalArgumentException If the file is not a valid puzzle, or it is not possible for one of the words to
+     * exist within the grid.
+     */
+    public List<String> solve(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            int[] size = readSize(channel);
+            List<String> words = readWords(channel, size);
+            long[] matches = new long[words.size()];
+            Arrays.fill(matches, -1);
+            int[] remaining = {words.size()};
+            TrieSearch trie = new TrieSearch(words);
+            scan(channel, size, words, (tile, ownStart, ownEnd, firstRow) -> {
+                remaining[0] = trie.findRemaining(tile, ownStart, ownEnd, firstRow, matches, remaining[0]);
+                return remaining[0] > 0;
+            });
+
+            List<String> outputs = new ArrayList<>(words.size());
+            for (int id = 0; id < words.size(); id++) {
+                outputs.add(WordSearch.formatResult(words.get(id), size[1], matches[id]));
+            }
+            return outputs;
+        }
+    }
+
+    /**
+     * Finds every occurrence of every word of a puzzle file and passes each one to the sink, counting occurrences the
+     * same way as TrieSearch.findAll. Occurrences that cross from one band into another are reported once.
+     *
+     * @param file A puzzle file in the format described in the README.
+     * @param sink Receiver of the occurrences, called with the index of the word in the list returned by words.
+     * @return The total number of occurrences.
+     * @throws IOException If the file cannot be read.
+     * @throws NumberFormatException If the grid size is not a pair of numbers.
+     * @throws IllegalArgumentException If the file is not a valid puzzle, or it is not possible for one of the words to
+     * exist within the grid.
+     */
+    public long findAll(Path file, MatchSink sink) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            int[] size = readSize(channel);
+            List<String> words = readWords(channel, size);
+            TrieSearch trie = new TrieSearch(words);
+            long[] total = {0};
+            scan(channel, size, words, (tile, ownStart, ownEnd, firstRow) -> {
+                MatchSink shifted = (id, startRow, startColumn, endRow, endColumn, direction) -> sink.match(id,
+                        startRow + firstRow, startColumn, endRow + firstRow, endColumn, direction);
+                for (int i = ownStart; i < ownEnd; i++) {
+                    for (int j = 0; j < tile.columns(); j++) {
+                        for (int direction = 0; direction < WordSearch.ROW_OFFSETS.length; direction++) {
+                            total[0] += trie.walkAll(tile, tile.index(i, j), direction, shifted);
+                        }
+                    }
+                }
+                return true;
+            });
+            return total[0];
+        }
+    }
+
+    /**
+     * Receives each band of the grid as it is loaded.
+     */
+    private interface BandVisitor {
+        /**
+         * @param tile The band's own rows and its overlap.
+         * @param ownStart First row of the tile that belongs to the band.
+         * @param ownEnd Row after the last row of the tile that belongs to the band.
+         * @param firstRow Row of the puzzle that the tile's first row is.
+         * @return Boolean of whether the remaining bands should be loaded.
+         */
+        boolean visit(Grid tile, int ownStart, int ownEnd, int firstRow);
+    }
+
+    /**
+     * Streams the grid from the file in overlapping bands. Rows in the overlap of two bands are read from the file
+     * once and copied from one band to the next.
+     *
+     * @param channel The puzzle file.
+     * @param size Rows and columns of the grid.
+     * @param words Words to find, which decide the overlap.
+     * @param visitor Receiver of the bands.
+     */
+    private void scan(FileChannel channel, int[] size, List<String> words, BandVisitor visitor) throws IOException {
+        int rows = size[0];
+        int columns = size[1];
+        int overlap = 0;
+        for (String word : words) {
+            if (word.length() > rows && word.length() > columns) {
+                throw new IllegalArgumentException("Not possible for " + word + " to exist in grid");
+            }
+            overlap = Math.max(overlap, word.length() - 1);
+        }
+        overlap = Math.min(overlap, rows);
+        long bandRows = Math.max(1, maxTileCells / columns - 2L * overlap);
+
+        PuzzleParser parser = new PuzzleParser();
+        channel.position(0);
+        parser.start(channel);
+        parser.readNumber('x');
+        parser.readNumber('\n');
+        Grid previous = null;
+        int previousFirst = 0;
+        int previousEnd = 0;
+        for (int ownStart = 0; ownStart < rows; ) {
+            int ownEnd = (int) Math.min(rows, ownStart + bandRows);
+            int first = Math.max(0, ownStart - overlap);
+            int end = Math.min(rows, ownEnd + overlap);
+            Grid tile = new Grid(end - first, columns);
+            for (int row = first; row < end; row++) {
+                if (row < previousEnd) {
+                    System.arraycopy(previous.cells(), previous.index(row - previousFirst, 0), tile.cells(),
+                            tile.index(row - first, 0), columns);
+                } else {
+                    parser.readRow(tile, row - first, row, rows);
+                }
+            }
+            if (!visitor.visit(tile, ownStart - first, ownEnd - first, first)) {
+                return;
+            }
+            previous = tile;
+            previousFirst = first;
+            previousEnd = end;
+            ownStart = ownEnd;
+        }
+    }
+
+    /**
+     * Reads the grid size line.
+     *
+     * @param channel The puzzle file, positioned at its start.
+     * @return The rows and columns of the grid, and the length in bytes of the size line.
+     * @throws IllegalArgumentException If the size line does not end within the first 32 bytes, which hold any valid
+     * size line.
+     */
+    private static int[] readSize(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(32);
+        channel.read(header, 0);
+        int length = 0;
+        while (length < header.position() && header.get(length) != '\n') {
+            length++;
+        }
+        PuzzleParser parser = new PuzzleParser();
+        parser.start(channel);
+        channel.position(0);
+        int rows = parser.readNumber('x');
+        int columns = parser.readNumber('\n');
+        if (rows <= 0 || columns <= 0) {
+            throw new IllegalArgumentException("Grid size is not valid");
+        }
+        if (length == header.position()) {
+            throw new IllegalArgumentException("The grid size line does not end within " + header.capacity()
+                    + " bytes");
+        }
+        return new int[]{rows, columns, length + 1};
+    }
+
+    /**
+     * Reads the words after the grid. When every row line has the same length, the words are found by seeking past
+     * the grid; otherwise the rows are skipped by reading through them. The seek is only trusted when the line before
+     * the offset is a row of the grid and the line at it is not, so a guess that lands inside the grid is rejected by
+     * the line at it and one that lands among the words by the line before it. Grids of one column are always read
+     * through, since their rows look the same as one letter words. The words are then streamed through a
+     * PuzzleParser, so the word section is never held in memory as a whole.
+     *
+     * @param channel The puzzle file.
+     * @param size Rows and columns of the grid, and the length of the size line.
+     * @return The words to find, in output order.
+     */
+    private static List<String> readWords(FileChannel channel, int[] size) throws IOException {
+        long start = -1;
+        boolean seek = size[1] > 1 && size[1] <= MAX_SEEK_COLUMNS;
+        for (long lineLength = 2L * size[1]; seek && lineLength <= 2L * size[1] + 1 && start < 0; lineLength++) {
+            long offset = size[2] + size[0] * lineLength;
+            if (endsLine(channel, offset) && endsLine(channel, offset - lineLength)
+                    && startsRow(channel, offset - lineLength, size[1])
+                    && (lineLength == 2L * size[1] || isRowEnd(channel, offset - 2))
+                    && !startsRow(channel, offset, size[1])) {
+                start = offset;
+            }
+        }
+        if (start < 0) {
+            start = skipLines(channel, size[0] + 1);
+        }
+
+        PuzzleParser parser = new PuzzleParser();
+        channel.position(start);
+        parser.start(channel);
+        Set<String> words = new LinkedHashSet<>(parser.readWords());
+        words.remove("");
+        if (words.isEmpty()) {
+            throw new IllegalArgumentException("There are no hidden words to search for");
+        }
+        return Collections.unmodifiableList(new ArrayList<>(words));
+    }
+
+    /**
+     * @param channel The puzzle file.
+     * @param offset Offset of a byte within the file.
+     * @return Boolean of whether the byte is a space or a carriage return, which may follow the last letter of a row.
+     */
+    private static boolean isRowEnd(FileChannel channel, long offset) throws IOException {
+        ByteBuffer b = ByteBuffer.allocate(1);
+        return channel.read(b, offset) == 1 && (b.get(0) == ' ' || b.get(0) == '\r');
+    }
+
+    /**
+     * @param channel The puzzle file.
+     * @param offset Offset of a byte in the file.
+     * @return Boolean of whether the byte before the offset is a line break and the offset is within the file.
+     */
+    private static boolean endsLine(FileChannel channel, long offset) throws IOException {
+        if (offset <= 0 || offset > channel.size()) {
+            return false;
+        }
+        ByteBuffer b = ByteBuffer.allocate(1);
+        return channel.read(b, offset - 1) == 1 && b.get(0) == '\n';
+    }
+
+    /**
+     * @param channel The puzzle file.
+     * @param offset Offset of the first byte of a line.
+     * @param columns Number of columns in the grid.
+     * @return Boolean of whether the line starts with columns letters separated by single spaces, as a grid row does.
+     */
+    private static boolean startsRow(FileChannel channel, long offset, int columns) throws IOException {
+        ByteBuffer line = ByteBuffer.allocate(2 * columns - 1);
+        while (line.hasRemaining() && channel.read(line, offset + line.position()) > 0) {
+            // Keep reading until the row is in the buffer or the file ends.
+        }
+        if (line.hasRemaining()) {
+            return false;
+        }
+        for (int i = 0; i < line.capacity(); i++) {
+            int b = line.get(i);
+            int letter = (b & ~0x20) - 'A';
+            if (i % 2 == 0 ? letter < 0 || letter >= 26 : b != ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param channel The puzzle file.
+     * @param lines Number of lines to skip from the start of the file.
+     * @return Offset of the first byte after those lines.
+     * @throws IllegalArgumentException If the file has fewer lines.
+     */
+    private static long skipLines(FileChannel channel, int lines) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+        long offset = 0;
+        int seen = 0;
+        while (true) {
+            buffer.clear();
+            int read = channel.read(buffer, offset);
+            if (read <= 0) {
+                throw new IllegalArgumentException("The input has " + Math.max(0, seen - 1)
+                        + " rows but the grid size is " + (lines - 1));
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n' && ++seen == lines) {
+                    return offset + i + 1;
+                }
+            }
+            offset += read;
+        }
+    }
+}
@@ -0,0 +1,306 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class searches a grid for a whole word list at once. The words are loaded into a prefix trie, and the trie is
+ * walked from every cell in each of the 8 directions, so one pass over the grid finds every word. The cost of a search
+ * depends on the size of the grid and the depth of the trie, not on the number of words.
+ */
+public class TrieSearch {
+    private static final int ALPHABET_SIZE = 26;
+    private static final int NO_WORD = -1;
+
+    private final List<String> words;
+    private final int maxLength;
+    private int[] children;
+    private int[] firstWord;
+    private final int[] nextWord;
+    private final boolean[] palindromes;
+    private int nodeCount;
+
+    /**
+     * Builds the trie for the given words. Words are matched the same way searchWord matches them: each character is
+     * upper-cased and compared with the grid, so words containing anything other than the letters A to Z can never be
+     * found.
+     *
+     * @param words Words to search for, in the order their results should be returned.
+     */
+    public TrieSearch(List<String> words) {
+        this.words = new ArrayList<>(words);
+        this.children = new int[ALPHABET_SIZE * 16];
+        this.firstWord = new int[16];
+        this.nextWord = new int[this.words.size()];
+        this.palindromes = new boolean[this.words.size()];
+        Arrays.fill(firstWord, NO_WORD);
+        nodeCount = 1;
+
+        int longest = 0;
+        WordBuffer buffer = new WordBuffer();
+        for (int id = 0; id < this.words.size(); id++) {
+            String word = this.words.get(id);
+            longest = Math.max(longest, word.length());
+            insert(word, id);
+            palindromes[id] = word.length() > 1 && WordSearch.isPalindrome(buffer.set(word).codes(), word.length());
+        }
+        maxLength = longest;
+    }
+
+    /**
+     * Adds a word to the trie and records its id on the node where it ends. Several ids can end on the same node when
+     * the word list contains the same word more than once or in different cases.
+     *
+     * @param word Word to add.
+     * @param id Index of the word in the word list.
+     */
+    private void insert(String word, int id) {
+        nextWord[id] = NO_WORD;
+        if (word.isEmpty()) {
+            return;
+        }
+        int node = 0;
+        for (int i = 0; i < word.length(); i++) {
+            int letter = Grid.encode(word.charAt(i));
+            if (letter < 0) {
+                return;
+            }
+            int slot = node * ALPHABET_SIZE + letter;
+            if (children[slot] == 0) {
+                int child = newNode();
+                children[slot] = child;
+            }
+            node = children[slot];
+        }
+        nextWord[id] = firstWord[node];
+        firstWord[node] = id;
+    }
+
+    /**
+     * Allocates a new trie node, growing the node arrays when they are full.
+     *
+     * @return Index of the new node.
+     */
+    private int newNode() {
+        if (nodeCount == firstWord.length) {
+            int capacity = nodeCount * 2;
+            children = Arrays.copyOf(children, capacity * ALPHABET_SIZE);
+            firstWord = Arrays.copyOf(firstWord, capacity);
+            Arrays.fill(firstWord, nodeCount, capacity, NO_WORD);
+        }
+        return nodeCount++;
+    }
+
+    /**
+     * Searches the grid for every word and returns one result per word, in word list order. Each result is the same
+     * String searchWord returns for that word: when a word appears more than once, the occurrence searchWord would find
+     * first is reported.
+     *
+     * @param grid The grid with scrambled words embedded within it.
+     * @return Strings that indicate the starting and ending indices of each word, or that the word doesn't exist.
+     * @throws IllegalArgumentException If it is not possible for one of the words to exist within the grid.
+     */
+    public List<String> search(char[][] grid) {
+        return search(Grid.of(grid));
+    }
+
+    /**
+     * Searches the grid for every word and returns one result per word, in word list order, the same way as the 2D
+     * character grid version.
+     *
+     * @param grid The grid with scrambled words embedded within it.
+     * @return Strings that indicate the starting and ending indices of each word, or that the word doesn't exist.
+     * @throws IllegalArgumentException If it is not possible for one of the words to exist within the grid.
+     */
+    public List<String> search(Grid grid) {
+        long[] matches = find(grid);
+        List<String> outputs = new ArrayList<>(words.size());
+        for (int id = 0; id < words.size(); id++) {
+            outputs.add(WordSearch.formatResult(words.get(id), grid.columns(), matches[id]));
+        }
+        return outputs;
+    }
+
+    /**
+     * Searches the grid for every word in one pass.
+     *
+     * @param grid The grid with scrambled words embedded within it.
+     * @return The match of each word in the same form as WordSearch.findWord, in word list order.
+     * @throws IllegalArgumentException If it is not possible for one of the words to exist within the grid.
+     */
+    public long[] find(Grid grid) {
+        return find(grid, 0, grid.rows());
+    }
+
+    /**
+     * Searches part of the grid for every word in one pass. Only words that start in the given rows are found, but
+     * they may extend outside of them, so searching a set of row bands and keeping the earliest match of each word
+     * gives the same result as searching the whole grid.
+     *
+     * @param grid The grid with scrambled words embedded within it.
+     * @param startRow First row a match may start in.
+     * @param endRow Row after the last row a match may start in.
+     * @return The match of each word in the same form as WordSearch.findWord, or -1 if the word doesn't start in the
+     * given rows.
+     * @throws IllegalArgumentException If it is not possible for one of the words to exist within the grid.
+     */
+    public long[] find(Grid grid, int startRow, int endRow) {
+        int rows = grid.rows();
+        int columns = grid.columns();
+        for (String word : words) {
+            if (word.length() > rows && word.length() > columns) {
+                throw new IllegalArgumentException("Not possible for " + word + " to exist in grid");
+            }
+        }
+
+        long[] matches = new long[words.size()];
+        Arrays.fill(matches, -1);
+        LetterHistogram histogram = grid.letterHistogram();
+        WordBuffer buffer = new WordBuffer();
+        int remaining = 0;
+        for (int id = 0; id < words.size(); id++) {
+            if (!words.get(id).isEmpty() && histogram.mayContain(buffer.set(words.get(id)))) {
+                remaining++;
+            }
+        }
+        findRemaining(grid, startRow, endRow, 0, matches, remaining);
+        return matches;
+    }
+
+    /**
+     * Searches part of a band of a larger grid for the words that have not been found yet. Nothing is built from the
+     * band, not even its letter histogram, so the search needs no memory beyond the band itself.
+     *
+     * @param band Consecutive rows of the larger grid.
+     * @param startRow First row of the band a match may start in.
+     * @param endRow Row after the last row of the band a match may start in.
+     * @param firstRow Row of the larger grid that the band's first row is, which is added to the matches recorded.
+     * @param matches Match of each word in the larger grid, or -1 if it has not been found yet, which is updated.
+     * @param remaining Number of words that may still be found. The search stops once they all have been.
+     * @return Number of words that may still be found after this search.
+     */
+    int findRemaining(Grid band, int startRow, int endRow, int firstRow, long[] matches, int remaining) {
+        int columns = band.columns();
+        int[] steps = band.steps();
+        long starts = 0;
+        long[] read = SolverMetrics.ENABLED ? new long[1] : null;
+        for (int i = startRow; i < endRow && remaining > 0; i++) {
+            for (int j = 0; j < columns && remaining > 0; j++) {
+                long cell = ((long) firstRow + i) * columns + j;
+                for (int direction = 0; direction < steps.length; direction++) {
+                    remaining -= walk(band.cells(), band.index(i, j), steps[direction], cell << 3 | direction, matches,
+                            read);
+                }
+                starts++;
+            }
+        }
+        if (SolverMetrics.ENABLED) {
+            SolverMetrics.searched(read[0], starts, starts * steps.length);
+            SolverMetrics.compared(read[0]);
+        }
+        return remaining;
+    }
+
+    /**
+     * Searches the grid for every occurrence of every word in one pass and passes each one to the sink as it is found.
+     * Occurrences are reported in order of their first cell and direction, in the order searchWord checks them.
+     *
+     * @param grid The grid with scrambled words embedded within it.
+     * @param sink Receiver of the occurrences, called with the index of the word in the word list.
+     * @return The total number of occurrences.
+     * @throws IllegalArgumentException If it is not possible for one of the words to exist within the grid.
+     */
+    public long findAll(Grid grid, MatchSink sink) {
+        for (String word : words) {
+            if (word.length() > grid.rows() && word.length() > grid.columns()) {
+                throw new IllegalArgumentException("Not possible for " + word + " to exist in grid");
+            }
+        }
+        long total = 0;
+        int[] steps = grid.steps();
+        for (int i = 0; i < grid.rows(); i++) {
+            for (int j = 0; j < grid.columns(); j++) {
+                for (int direction = 0; direction < steps.length; direction++) {
+                    total += walkAll(grid, grid.index(i, j), direction, sink);
+                }
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Follows the trie from a cell in one direction and reports every word that ends along the way. Palindromes are
+     * only reported in the direction that starts at the earlier cell, and single letters only in the first direction,
+     * so every occurrence is reported once.
+     *
+     * @param grid The grid being searched.
+     * @param index Index of the starting cell.
+     * @param direction Index of the direction to walk in.
+     * @param sink Receiver of the occurrences.
+     * @return Number of occurrences reported.
+     */
+    int walkAll(Grid grid, int index, int direction, MatchSink sink) {
+        byte[] cells = grid.cells();
+        int step = grid.step(direction);
+        int count = 0;
+        int node = 0;
+        int cell = index;
+        for (int depth = 0; depth < maxLength; depth++, cell += step) {
+            int letter = cells[cell];
+            if (letter >= ALPHABET_SIZE) {
+                break;
+            }
+            node = children[node * ALPHABET_SIZE + letter];
+            if (node == 0) {
+                break;
+            }
+            if (firstWord[node] == NO_WORD || (depth == 0 && direction != 0)) {
+                continue;
+            }
+            for (int id = firstWord[node]; id != NO_WORD; id = nextWord[id]) {
+                if (!palindromes[id] || index < cell) {
+                    sink.match(id, grid.row(index), grid.column(index), grid.row(cell), grid.column(cell), direction);
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Follows the trie from a cell in one direction and records every word that ends along the way and has not been
+     * found yet. The walk stops when the trie has no child for the next cell, which always happens on the border.
+     *
+     * @param cells Backing array of the grid being searched.
+     * @param index Index of the starting cell.
+     * @param step Amount the cell index changes by for one step in the direction.
+     * @param match Value recorded for each word found: the start cell shifted left 3 bits plus the direction.
+     * @param matches Match recorded so far for each word, or -1.
+     * @param read Holder of the number of cells read so far, which the walk adds to, or null if metrics are off.
+     * @return Number of words found for the first time.
+     */
+    private int walk(byte[] cells, int index, int step, long match, long[] matches, long[] read) {
+        int found = 0;
+        int node = 0;
+        int depth = 0;
+        for (; depth < maxLength; depth++, index += step) {
+            int letter = cells[index];
+            if (letter >= ALPHABET_SIZE) {
+                break;
+            }
+            node = children[node * ALPHABET_SIZE + letter];
+            if (node == 0) {
+                break;
+            }
+            for (int id = firstWord[node]; id != NO_WORD; id = nextWord[id]) {
+                if (matches[id] < 0) {
+                    matches[id] = match;
+                    found++;
+                }
+            }
+        }
+        if (SolverMetrics.ENABLED) {
+            read[0] += Math.min(depth + 1, maxLength);
+        }
+        return found;
+    }
+}
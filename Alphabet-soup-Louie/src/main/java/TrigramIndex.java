@@ -0,0 +1,125 @@
+/**
+ * This class lists where every sequence of three letters appears in a grid, reading along each of the 4 orientations:
+ * right, down, down-right and down-left. Each entry is a cell and an orientation, and the entries of a trigram are
+ * stored together, so a query can go straight to the few places a pattern could match. The other 4 directions are
+ * covered by reading a pattern backwards. The index takes 16 bytes per cell and is built with two passes over the
+ * grid.
+ */
+public class TrigramIndex {
+    /**
+     * Directions the trigrams are read in, as indexes into WordSearch.ROW_OFFSETS: right, down, down-right, down-left.
+     */
+    static final int[] DIRECTIONS = {1, 3, 7, 6};
+    private static final int TRIGRAMS = 26 * 26 * 26;
+
+    private final int[] starts = new int[TRIGRAMS + 1];
+    private final int[] entries;
+
+    /**
+     * Builds the index of a grid.
+     *
+     * @param grid The grid to index.
+     * @throws IllegalArgumentException If the grid is too large to index.
+     */
+    public TrigramIndex(Grid grid) {
+        byte[] cells = grid.cells();
+        if (cells.length > (Integer.MAX_VALUE >> 2) - 8) {
+            throw new IllegalArgumentException("Grid of " + grid.rows() + "x" + grid.columns()
+                    + " is too large for a trigram index");
+        }
+        int[] counts = new int[TRIGRAMS];
+        int total = 0;
+        for (int i = 0; i < grid.rows(); i++) {
+            int index = grid.index(i, 0);
+            for (int j = 0; j < grid.columns(); j++, index++) {
+                for (int orientation = 0; orientation < DIRECTIONS.length; orientation++) {
+                    int key = key(cells, index, grid.step(DIRECTIONS[orientation]));
+                    if (key >= 0) {
+                        counts[key]++;
+                        total++;
+                    }
+                }
+            }
+        }
+        for (int key = 0; key < TRIGRAMS; key++) {
+            starts[key + 1] = starts[key] + counts[key];
+        }
+
+        entries = new int[total];
+        int[] next = starts.clone();
+        for (int i = 0; i < grid.rows(); i++) {
+            int index = grid.index(i, 0);
+            for (int j = 0; j < grid.columns(); j++, index++) {
+                for (int orientation = 0; orientation < DIRECTIONS.length; orientation++) {
+                    int key = key(cells, index, grid.step(DIRECTIONS[orientation]));
+                    if (key >= 0) {
+                        entries[next[key]++] = index << 2 | orientation;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @param cells Backing array of the grid.
+     * @param index Index of the first cell.
+     * @param step Amount the cell index changes by for one step in the direction.
+     * @return The trigram starting at the cell, or -1 if one of its cells is not a letter.
+     */
+    private static int key(byte[] cells, int index, int step) {
+        int a = cells[index];
+        if (a >= 26) {
+            return -1;
+        }
+        int b = cells[index + step];
+        if (b >= 26) {
+            return -1;
+        }
+        int c = cells[index + 2 * step];
+        return c >= 26 ? -1 : key(a, b, c);
+    }
+
+    /**
+     * @param a Code of the first letter.
+     * @param b Code of the second letter.
+     * @param c Code of the third letter.
+     * @return The trigram of the three letters.
+     */
+    public static int key(int a, int b, int c) {
+        return (a * 26 + b) * 26 + c;
+    }
+
+    /**
+     * Returns the backing array of entries. Each entry is the index of the trigram's first cell shifted left 2 bits
+     * plus the index into DIRECTIONS of its orientation. Callers must not modify it.
+     *
+     * @return Entries of every trigram, grouped by trigram.
+     */
+    public int[] entries() {
+        return entries;
+    }
+
+    /**
+     * @param key A trigram.
+     * @return Position in entries() of the trigram's first entry.
+     */
+    public int start(int key) {
+        return starts[key];
+    }
+
+    /**
+     * @param key A trigram.
+     * @return Position in entries() after the trigram's last entry.
+     */
+    public int end(int key) {
+        return starts[key + 1];
+    }
+
+    /**
+     * @param key A trigram.
+     * @return Number of places the trigram appears.
+     */
+    public int count(int key) {
+        return starts[key + 1] - starts[key];
+    }
+}
@@ -0,0 +1,60 @@
+/**
+ * This class holds a word converted to grid codes, so the characters of a word are upper-cased and encoded once before
+ * a search instead of at every comparison. The buffer is meant to be reused for word after word: it only allocates
+ * when a word is longer than any word it has held before.
+ */
+public class WordBuffer {
+    private String word = "";
+    private byte[] codes = new byte[16];
+    private int length;
+    private final int[] letterCounts = new int[26];
+
+    /**
+     * Loads a word into the buffer.
+     *
+     * @param word Word that will be searched for.
+     * @return This buffer.
+     */
+    public WordBuffer set(String word) {
+        int wordLength = word.length();
+        if (wordLength > codes.length) {
+            codes = new byte[Math.max(wordLength, codes.length * 2)];
+        }
+        for (int i = 0; i < wordLength; i++) {
+            codes[i] = (byte) Grid.encode(word.charAt(i));
+        }
+        this.word = word;
+        this.length = wordLength;
+        return this;
+    }
+
+    /**
+     * @return The word as it was given to set.
+     */
+    public String word() {
+        return word;
+    }
+
+    /**
+     * Returns the backing array. Only the first length() codes belong to the current word.
+     *
+     * @return The grid codes of the word, with -1 for characters that are not letters.
+     */
+    public byte[] codes() {
+        return codes;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Returns scratch space for counting the letters of the word. It holds 0 for every letter except while a
+     * LetterHistogram is checking the word.
+     *
+     * @return An array with one count per letter.
+     */
+    int[] letterCounts() {
+        return letterCounts;
+    }
+}
@@ -1,6 +1,11 @@
-import java.io.BufferedReader;
-import java.io.FileReader;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Set;
 import java.util.HashSet;
 
@@ -11,72 +16,220 @@ import java.util.HashSet;
 public class WordSearch {
     private static final String sampleTextFile = "src/main/resources/helper.txt";
     private static final Set<String> hiddenWords = new HashSet<>();
+    private static final int CACHE_SIZE = 1 << 20;
 
     /**
-     * This is the main method of the program that calls the loadInputFile method and the searchWord method
-     * for each word to be found.
+     * Row and column offsets of the 8 search directions, in the order searchWord checks them: left, right, up, down,
+     * up-left, up-right, down-left and down-right.
+     */
+    public static final int[] ROW_OFFSETS = {0, 0, -1, 1, -1, -1, 1, 1};
+    public static final int[] COLUMN_OFFSETS = {-1, 1, 0, 0, -1, 1, -1, 1};
+    /**
+     * Index of the direction opposite to each direction.
+     */
+    public static final int[] REVERSE_DIRECTIONS = {1, 0, 3, 2, 7, 6, 5, 4};
+
+    /**
+     * This is the main method of the program that loads the puzzle from the input file and then prints the location
+     * of every word to be found, in the order of the input file. With no arguments the sample file is solved, with one
+     * argument the named file is solved, and "--batch" followed by directories, files or '@' file lists solves all of
+     * them with a BatchSolver. "--convert" followed by a text file and a binary file writes the puzzle as a
+     * BinaryPuzzle. "--server" answers puzzles from standard input with a SolverServer, or from a loopback port if one
+     * is given after it. "--tiled" followed by a file solves it with a TiledSearch, for grids too large to load.
+     * "--generate" followed by a grid size, counts of planted and missing words, a seed and a file writes a random
+     * puzzle from a PuzzleGenerator and prints its answer key. "--cache" followed by a file, before the puzzle file,
+     * keeps the results of earlier runs in a ResultCache saved in that file, so only words that were not solved before
+     * are searched. "--parallel", before "--cache" and the puzzle file, searches large grids on every processor with
+     * a ParallelSearch. When SolverMetrics are enabled, their summary is printed to standard error when the program
+     * exits.
      *
      * @param args Command line arguments.
      */
     public static void main(String[] args) {
-        char[][] grid = loadInputFile(sampleTextFile);
-        if (grid == null) {
+        if (SolverMetrics.ENABLED) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> System.err.println(SolverMetrics.get().summary())));
+        }
+        if (args.length > 0 && args[0].equals("--batch")) {
+            batch(Arrays.asList(args).subList(1, args.length));
             return;
         }
-        for (String word : hiddenWords) {
-            String output = searchWord(grid, word);
-            System.out.println(output);
+        if (args.length > 0 && args[0].equals("--server")) {
+            serve(Arrays.asList(args).subList(1, args.length));
+            return;
+        }
+        if (args.length > 1 && args[0].equals("--tiled")) {
+            tiled(args[1]);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--convert")) {
+            convert(Arrays.asList(args).subList(1, args.length));
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--generate")) {
+            generate(Arrays.asList(args).subList(1, args.length));
+            return;
+        }
+        boolean parallel = args.length > 0 && args[0].equals("--parallel");
+        if (parallel) {
+            args = Arrays.copyOfRange(args, 1, args.length);
+        }
+        Path cacheFile = null;
+        if (args.length > 1 && args[0].equals("--cache")) {
+            cacheFile = Paths.get(args[1]);
+            args = Arrays.copyOfRange(args, 2, args.length);
+        }
+        Puzzle puzzle;
+        try {
+            puzzle = Puzzle.load(args.length > 0 ? args[0] : sampleTextFile);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return;
+        } catch (NumberFormatException e) {
+            System.out.println("The input file contains invalid row and column dimensions");
+            e.printStackTrace();
+            return;
+        }
+        ResultWriter out = new ResultWriter(new FileOutputStream(FileDescriptor.out).getChannel());
+        try (ParallelSearch search = parallel ? new ParallelSearch() : null) {
+            ResultCache cache = null;
+            if (cacheFile != null) {
+                cache = new ResultCache(CACHE_SIZE);
+                if (Files.exists(cacheFile)) {
+                    cache.load(cacheFile);
+                }
+            }
+            out.write(puzzle, new Solver(cache, search).find(puzzle));
+            out.flush();
+            if (cache != null) {
+                cache.save(cacheFile);
+                System.err.println("Result cache: " + cache.hits() + " hits, " + cache.misses() + " misses, "
+                        + cache.evictions() + " evictions");
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
         }
-        clearHiddenWords();
     }
 
     /**
-     * Reads the input file and loads the grid of the specified size and lists the words to be found.
+     * Solves many puzzle files, printing their results to standard output and the throughput to standard error.
      *
-     * @param textFile The input file that will be read.
-     * @return The 2D character grid with scrambled words embedded within it that was created from the input.
-     * @throws IllegalArgumentException If the input file contains invalid grid dimensions or no words to find.
+     * @param arguments Directories, puzzle files and '@' file lists to solve.
      */
-    public static char[][] loadInputFile(String textFile) {
+    private static void batch(List<String> arguments) {
+        if (arguments.isEmpty()) {
+            System.err.println("Usage: WordSearch --batch <directory|file|@list>...");
+            return;
+        }
         try {
-            BufferedReader br = new BufferedReader(new FileReader(textFile));
-            String gridSizeInput = br.readLine();
-            String[] gridSize = gridSizeInput.split("x");
-            int rows = Integer.parseInt(gridSize[0]);
-            int columns = Integer.parseInt(gridSize[1]);
-//            System.out.println(rows + "x" + columns);     //tests row and column lengths
-
-            if (rows <= 0 || columns <= 0) {
-                throw new IllegalArgumentException("Grid size is not valid");
-            }
-
-            char[][] grid = new char[rows][columns];
+            ResultWriter out = new ResultWriter(new FileOutputStream(FileDescriptor.out).getChannel());
+            BatchSolver.Summary summary = new BatchSolver().run(BatchSolver.listPuzzles(arguments), out);
+            System.err.println(summary);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
 
-            for (int i = 0; i < rows; i++) {
-                String rowInput = br.readLine();
-                String[] rowChars = rowInput.split(" ");
-                for (int j = 0; j < columns; j++) {
-                    if (!Character.isLetter(rowChars[j].charAt(0))) {
-                        throw new IllegalArgumentException("The grid inputs should only contain alphabetical characters");
+    /**
+     * Runs a solver server on standard input and output, or on a loopback port.
+     *
+     * @param arguments Nothing, or the port to listen on.
+     */
+    private static void serve(List<String> arguments) {
+        SolverServer server = new SolverServer();
+        try {
+            if (arguments.isEmpty()) {
+                server.serve(System.in, new FileOutputStream(FileDescriptor.out));
+            } else {
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    try {
+                        server.close();
+                    } catch (IOException e) {
+                        e.printStackTrace();
                     }
-                    grid[i][j] = Character.toUpperCase(rowChars[j].charAt(0));
-//                    System.out.print(grid[i][j]);     //tests grid inputs
-                }
-//                System.out.print("\n");     //simulates each row
+                }));
+                System.err.println("Listening on " + server.open(Integer.parseInt(arguments.get(0))));
+                server.listen(Throwable::printStackTrace);
             }
+        } catch (IOException | NumberFormatException e) {
+            e.printStackTrace();
+        }
+    }
 
-            String wordInput;
-            while ((wordInput = br.readLine()) != null) {
-                hiddenWords.add(wordInput);
-//                System.out.println(wordInput);      //tests word inputs
-            }
-            if (hiddenWords.contains("")) {
-                hiddenWords.remove("");
+    /**
+     * Solves a puzzle file a band of rows at a time, without loading the whole grid.
+     *
+     * @param textFile The input file that will be read.
+     */
+    private static void tiled(String textFile) {
+        ResultWriter out = new ResultWriter(new FileOutputStream(FileDescriptor.out).getChannel());
+        try {
+            for (String output : new TiledSearch().solve(Paths.get(textFile))) {
+                out.writeLine(output);
             }
-            if (hiddenWords.isEmpty()) {
-                throw new IllegalArgumentException("There are no hidden words to search for");
+            out.flush();
+        } catch (IOException | IllegalArgumentException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Converts a text puzzle file to a binary puzzle file.
+     *
+     * @param arguments The text file and the binary file.
+     */
+    private static void convert(List<String> arguments) {
+        if (arguments.size() != 2) {
+            System.err.println("Usage: WordSearch --convert <text file> <binary file>");
+            return;
+        }
+        try {
+            BinaryPuzzle.convert(Paths.get(arguments.get(0)), Paths.get(arguments.get(1)));
+        } catch (IOException | IllegalArgumentException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Writes a random puzzle file and prints its answer key.
+     *
+     * @param arguments The grid size as rows "x" columns, the numbers of planted and missing words, the seed and the
+     * file to write.
+     */
+    private static void generate(List<String> arguments) {
+        if (arguments.size() != 5 || arguments.get(0).indexOf('x') < 0) {
+            System.err.println("Usage: WordSearch --generate <rows>x<columns> <planted> <missing> <seed> <file>");
+            return;
+        }
+        try {
+            String size = arguments.get(0);
+            int rows = Integer.parseInt(size.substring(0, size.indexOf('x')));
+            int columns = Integer.parseInt(size.substring(size.indexOf('x') + 1));
+            PuzzleGenerator.Generated generated = new PuzzleGenerator(Long.parseLong(arguments.get(3)))
+                    .generate(rows, columns, Integer.parseInt(arguments.get(1)), Integer.parseInt(arguments.get(2)));
+            PuzzleGenerator.write(Paths.get(arguments.get(4)), generated.puzzle());
+            ResultWriter out = new ResultWriter(new FileOutputStream(FileDescriptor.out).getChannel());
+            for (String answer : generated.answers()) {
+                out.writeLine(answer);
             }
-            return grid;
+            out.flush();
+        } catch (IOException | IllegalArgumentException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Reads the input file and loads the grid of the specified size and lists the words to be found. The words are
+     * added to the shared word list; Puzzle.load reads the same file without any shared state.
+     *
+     * @param textFile The input file that will be read.
+     * @return The 2D character grid with scrambled words embedded within it that was created from the input.
+     * @throws IllegalArgumentException If the input file contains invalid grid dimensions or no words to find.
+     */
+    public static char[][] loadInputFile(String textFile) {
+        try {
+            Puzzle puzzle = Puzzle.load(textFile);
+            hiddenWords.addAll(puzzle.words());
+            return puzzle.grid().toCharArray();
 
         } catch (IOException e) {
             e.printStackTrace();
@@ -106,9 +259,10 @@ public class WordSearch {
             throw new IllegalArgumentException("Not possible for " + word + " to exist in grid");
         }
 
+        char first = Character.toUpperCase(word.charAt(0));
         for (int i = 0; i < rows; i++) {
             for (int j = 0; j < columns; j++) {
-                if (grid[i][j] != Character.toUpperCase(word.charAt(0))) {
+                if (grid[i][j] != first) {
                     continue;
                 }
 //                System.out.println(grid[i][j]);
@@ -164,11 +318,181 @@ public class WordSearch {
 
             }
         }
-        return word + " doesn't exist in the grid";
+        return formatMissing(word);
+    }
+
+    /**
+     * Searches the grid for the specified word in various directions, the same way as the 2D character grid version.
+     * The sentinel border of the grid ends each direction check, so no bounds checks are needed.
+     *
+     * @param grid The grid with scrambled words embedded within it.
+     * @param word Word that is being searched for.
+     * @return String that indicates the starting and ending indices of the word found within the grid.
+     * @throws IllegalArgumentException If it is not possible for the word to exist within the grid.
+     */
+    public static String searchWord(Grid grid, String word) {
+        return formatResult(word, grid.columns(), findWord(grid, new WordBuffer().set(word)));
     }
 
     /**
-     * Recursive method that uses offsets to search if a word exists in the grid in the specific direction.
+     * Searches the grid for the word held in the buffer, checking the cells and directions in the same order as
+     * searchWord. Words the letter histogram of the grid rules out are rejected without a search. Otherwise only the
+     * cells holding the first letter of the word are visited, using the letter index of the grid, which is built on
+     * the first search. Nothing is allocated, so a single buffer can be reused to search for a
+     * whole word list.
+     *
+     * @param grid The grid with scrambled words embedded within it.
+     * @param word Buffer holding the word that is being searched for.
+     * @return The start cell of the word (row * columns + column) shifted left 3 bits plus the index of the direction
+     * it was found in, or -1 if the word doesn't exist in the grid.
+     * @throws IllegalArgumentException If it is not possible for the word to exist within the grid.
+     */
+    public static long findWord(Grid grid, WordBuffer word) {
+        return findWord(grid, word, 0, grid.rows());
+    }
+
+    /**
+     * Searches part of the grid for the word held in the buffer. Only words that start in the given rows are found,
+     * but they may extend outside of them, so searching a set of row bands and keeping the earliest match gives the
+     * same result as searching the whole grid.
+     *
+     * @param grid The grid with scrambled words embedded within it.
+     * @param word Buffer holding the word that is being searched for.
+     * @param startRow First row a match may start in.
+     * @param endRow Row after the last row a match may start in.
+     * @return The match in the same form as findWord, or -1 if the word doesn't start in the given rows.
+     * @throws IllegalArgumentException If it is not possible for the word to exist within the grid.
+     */
+    public static long findWord(Grid grid, WordBuffer word, int startRow, int endRow) {
+        int length = word.length();
+        int columns = grid.columns();
+        if (length > grid.rows() && length > columns) {
+            throw new IllegalArgumentException("Not possible for " + word.word() + " to exist in grid");
+        }
+        if (length == 0) {
+            return -1;
+        }
+
+        byte[] codes = word.codes();
+        int first = codes[0];
+        if (first < 0 || !grid.letterHistogram().mayContain(word)) {
+            return -1;
+        }
+        byte[] cells = grid.cells();
+        int[] steps = grid.steps();
+        LetterIndex letters = grid.letterIndex();
+        int[] positions = letters.positions();
+        int end = grid.index(endRow, 0);
+        int start = letters.seek(first, grid.index(startRow, 0));
+        int p = start;
+        int direction = 0;
+        long match = -1;
+        long compared = 0;
+        search:
+        for (; p < letters.end(first); p++) {
+            int index = positions[p];
+            if (index >= end) {
+                break;
+            }
+            for (direction = 0; direction < steps.length; direction++) {
+                int matched = matchLength(cells, index, steps[direction], codes, length);
+                if (SolverMetrics.ENABLED) {
+                    compared += Math.min(matched + 1, length);
+                }
+                if (matched == length) {
+                    match = ((long) grid.row(index) * columns + grid.column(index)) << 3 | direction;
+                    break search;
+                }
+            }
+        }
+        if (SolverMetrics.ENABLED) {
+            int entries = p - start + (p < letters.end(first) ? 1 : 0);
+            int starts = p - start + (match >= 0 ? 1 : 0);
+            SolverMetrics.searched(entries + compared, starts,
+                    match >= 0 ? (starts - 1) * 8L + direction + 1 : starts * 8L);
+            SolverMetrics.compared(compared);
+        }
+        return match;
+    }
+
+    /**
+     * Searches the grid for every occurrence of every word and passes each one to the sink as it is found. The words
+     * are searched in list order, and the occurrences of a word are reported in the order searchWord checks the cells
+     * and directions.
+     *
+     * @param grid The grid with scrambled words embedded within it.
+     * @param words Words that are being searched for.
+     * @param sink Receiver of the occurrences, called with the index of the word in the list.
+     * @return The total number of occurrences.
+     * @throws IllegalArgumentException If it is not possible for one of the words to exist within the grid.
+     */
+    public static long findAll(Grid grid, List<String> words, MatchSink sink) {
+        WordBuffer buffer = new WordBuffer();
+        long total = 0;
+        for (int id = 0; id < words.size(); id++) {
+            total += findAll(grid, buffer.set(words.get(id)), id, sink);
+        }
+        return total;
+    }
+
+    /**
+     * Searches the grid for every occurrence of the word held in the buffer and passes each one to the sink as it is
+     * found, in the order searchWord checks the cells and directions. Nothing is allocated.
+     *
+     * @param grid The grid with scrambled words embedded within it.
+     * @param word Buffer holding the word that is being searched for.
+     * @param wordId Id passed to the sink with each occurrence.
+     * @param sink Receiver of the occurrences.
+     * @return The number of occurrences.
+     * @throws IllegalArgumentException If it is not possible for the word to exist within the grid.
+     */
+    public static int findAll(Grid grid, WordBuffer word, int wordId, MatchSink sink) {
+        int length = word.length();
+        if (length > grid.rows() && length > grid.columns()) {
+            throw new IllegalArgumentException("Not possible for " + word.word() + " to exist in grid");
+        }
+        if (length == 0 || word.codes()[0] < 0) {
+            return 0;
+        }
+
+        byte[] cells = grid.cells();
+        byte[] codes = word.codes();
+        int[] steps = grid.steps();
+        boolean palindrome = length > 1 && isPalindrome(codes, length);
+        int directions = length == 1 ? 1 : steps.length;
+        LetterIndex letters = grid.letterIndex();
+        int[] positions = letters.positions();
+        int count = 0;
+        for (int p = letters.start(codes[0]); p < letters.end(codes[0]); p++) {
+            int index = positions[p];
+            for (int direction = 0; direction < directions; direction++) {
+                int endIndex = index + steps[direction] * (length - 1);
+                if ((!palindrome || index < endIndex) && wordExists(cells, index, steps[direction], codes, length)) {
+                    sink.match(wordId, grid.row(index), grid.column(index), grid.row(endIndex), grid.column(endIndex),
+                            direction);
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @param codes Grid codes of a word.
+     * @param length Length of the word.
+     * @return Boolean of whether the word reads the same forwards and backwards.
+     */
+    public static boolean isPalindrome(byte[] codes, int length) {
+        for (int i = 0, j = length - 1; i < j; i++, j--) {
+            if (codes[i] != codes[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Method that uses offsets to search if a word exists in the grid in the specific direction.
      *
      * @param grid 2D grid containing embedded words to search for.
      * @param word Word to search for.
@@ -181,15 +505,121 @@ public class WordSearch {
      * @return Boolean of whether the word was found in the grid.
      */
     public static boolean wordExists(char[][] grid, String word, int row, int column, int rowOffset, int columnOffset, int length, int count) {
-        if (count == length) {
-            return true;
+        for (; count < length; count++, row += rowOffset, column += columnOffset) {
+            if (row < 0 || row >= grid.length || column < 0 || column >= grid[0].length || grid[row][column] != Character.toUpperCase(word.charAt(count))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if a word exists in the grid in the specific direction, the same way as the 2D character grid version. The
+     * check walks the backing array of the grid and stops on the sentinel border instead of checking bounds.
+     *
+     * @param grid Grid containing embedded words to search for.
+     * @param word Word to search for.
+     * @param row Current row that is being checked.
+     * @param column Current column that is being checked.
+     * @param rowOffset Row offset that will be used to keep checking in the specific direction.
+     * @param columnOffset Column offset that will be used to keep checking in the specific direction.
+     * @param length Length of the word being searched for.
+     * @param count Index of the current character of the word being searched for.
+     * @return Boolean of whether the word was found in the grid.
+     */
+    public static boolean wordExists(Grid grid, String word, int row, int column, int rowOffset, int columnOffset,
+            int length, int count) {
+        if (row < 0 || row >= grid.rows() || column < 0 || column >= grid.columns()) {
+            return count == length;
+        }
+        byte[] cells = grid.cells();
+        int step = rowOffset * grid.stride() + columnOffset;
+        for (int index = grid.index(row, column); count < length; count++, index += step) {
+            if (cells[index] != Grid.encode(word.charAt(count))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if the encoded word exists in the backing array of a grid, starting at a cell and stepping in one
+     * direction. The sentinel border of the grid ends the check, so no bounds checks are needed.
+     *
+     * @param cells Backing array of the grid.
+     * @param index Index of the cell holding the first character of the word.
+     * @param step Amount the cell index changes by for one step in the direction.
+     * @param codes Grid codes of the word.
+     * @param length Length of the word.
+     * @return Boolean of whether the word was found in the grid.
+     */
+    public static boolean wordExists(byte[] cells, int index, int step, byte[] codes, int length) {
+        int count = matchLength(cells, index, step, codes, length);
+        if (SolverMetrics.ENABLED) {
+            SolverMetrics.compared(Math.min(count + 1, length));
+        }
+        return count == length;
+    }
+
+    /**
+     * Counts how many characters of the encoded word match the grid, starting at a cell and stepping in one direction.
+     * The grid cells read are that count plus one for the mismatch, unless the whole word matched.
+     *
+     * @param cells Backing array of the grid.
+     * @param index Index of the cell holding the first character of the word.
+     * @param step Amount the cell index changes by for one step in the direction.
+     * @param codes Grid codes of the word.
+     * @param length Length of the word.
+     * @return Number of leading characters of the word that match, which is length if the whole word was found.
+     */
+    private static int matchLength(byte[] cells, int index, int step, byte[] codes, int length) {
+        int count = 0;
+        while (count < length && cells[index] == codes[count]) {
+            count++;
+            index += step;
         }
+        return count;
+    }
 
-        if (row < 0 || row >= grid.length || column < 0 || column >= grid[0].length || grid[row][column] != Character.toUpperCase(word.charAt(count))) {
-            return false;
+    /**
+     * Builds the output line for a match returned by findWord.
+     *
+     * @param word Word that was searched for.
+     * @param columns Number of columns in the grid that was searched.
+     * @param match The match returned by findWord, or -1 if the word was not found.
+     * @return String that indicates the starting and ending indices of the word, or that the word doesn't exist.
+     */
+    public static String formatResult(String word, int columns, long match) {
+        if (match < 0) {
+            return formatMissing(word);
         }
+        long cell = match >>> 3;
+        return formatMatch(word, (int) (cell / columns), (int) (cell % columns), (int) (match & 7));
+    }
+
+    /**
+     * Builds the output line for a word found at the given position, in the same format searchWord uses.
+     *
+     * @param word Word that was found.
+     * @param row Row of the first character of the word.
+     * @param column Column of the first character of the word.
+     * @param direction Index into ROW_OFFSETS and COLUMN_OFFSETS of the direction the word was found in.
+     * @return String that indicates the starting and ending indices of the word.
+     */
+    public static String formatMatch(String word, int row, int column, int direction) {
+        int endRow = row + ROW_OFFSETS[direction] * (word.length() - 1);
+        int endColumn = column + COLUMN_OFFSETS[direction] * (word.length() - 1);
+        return word + " " + row + ":" + column + " " + endRow + ":" + endColumn;
+    }
 
-        return wordExists(grid, word, (row + rowOffset), (column + columnOffset), rowOffset, columnOffset, length, count + 1);
+    /**
+     * Builds the output line for a word that could not be found, in the same format searchWord uses.
+     *
+     * @param word Word that was not found.
+     * @return String that indicates the word is not in the grid.
+     */
+    public static String formatMissing(String word) {
+        return word + " doesn't exist in the grid";
     }
 
     /**
@@ -0,0 +1,82 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchSolverTest {
+
+    @Test
+    public void testRunWritesResultsInInputOrder(@TempDir Path directory) throws IOException {
+        List<Path> files = new ArrayList<>();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            Path file = directory.resolve(String.format("puzzle%02d.txt", i));
+            if (i % 2 == 0) {
+                Files.copy(Paths.get("src/main/resources/sample_input.txt"), file);
+                expected.append("==> ").append(file).append(" <==\nHELLO 0:0 4:4\nGOOD 4:0 4:3\nBYE 1:3 1:1\n");
+            } else {
+                Files.copy(Paths.get("src/main/resources/helper.txt"), file);
+                expected.append("==> ").append(file).append(" <==\n");
+                for (String line : new Solver().solve(Puzzle.load(file.toString()))) {
+                    expected.append(line).append('\n');
+                }
+            }
+            files.add(file);
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BatchSolver.Summary summary = new BatchSolver(4, 2).run(files, new ResultWriter(Channels.newChannel(out), 64));
+        assertEquals(expected.toString(), out.toString(StandardCharsets.UTF_8));
+        assertEquals(50, summary.puzzles());
+        assertEquals(0, summary.failed());
+        assertTrue(summary.puzzlesPerSecond() > 0);
+    }
+
+    @Test
+    public void testRunReportsFailedFilesAndCarriesOn(@TempDir Path directory) throws IOException {
+        Path missing = directory.resolve("missing.txt");
+        List<Path> files = Arrays.asList(Paths.get("src/main/resources/invalid_columns.txt"), missing,
+                Paths.get("src/main/resources/sample_input.txt"));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BatchSolver.Summary summary = new BatchSolver(2, 1).run(files, new ResultWriter(Channels.newChannel(out)));
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(8, lines.length);
+        assertTrue(lines[1].startsWith("error: IllegalArgumentException: "), lines[1]);
+        assertEquals("error: NoSuchFileException: " + missing, lines[3]);
+        assertEquals("HELLO 0:0 4:4", lines[5]);
+        assertEquals(3, summary.puzzles());
+        assertEquals(2, summary.failed());
+    }
+
+    @Test
+    public void testListPuzzlesExpandsDirectoriesAndFileLists(@TempDir Path directory) throws IOException {
+        Path b = Files.createFile(directory.resolve("b.txt"));
+        Path a = Files.createFile(directory.resolve("a.txt"));
+        Files.createDirectory(directory.resolve("nested"));
+        Path list = directory.resolve("list");
+        Files.write(list, Arrays.asList("x.txt", "", "y.txt"));
+
+        List<Path> files = BatchSolver.listPuzzles(Arrays.asList(directory.toString(), "@" + list, "z.txt"));
+        List<Path> expected = new ArrayList<>(Arrays.asList(a, b, list));
+        Collections.sort(expected);
+        expected.addAll(Arrays.asList(Paths.get("x.txt"), Paths.get("y.txt"), Paths.get("z.txt")));
+        assertEquals(expected, files);
+    }
+
+    @Test
+    public void testConstructorWithInvalidSizes() {
+        assertThrows(IllegalArgumentException.class, () -> new BatchSolver(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new BatchSolver(1, 0));
+    }
+}
@@ -0,0 +1,76 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryPuzzleTest {
+
+    @Test
+    public void testConvertAndReadMatchTextPuzzle(@TempDir Path directory) throws IOException {
+        Path binary = directory.resolve("helper" + BinaryPuzzle.EXTENSION);
+        BinaryPuzzle.convert(Paths.get("src/main/resources/helper.txt"), binary);
+        Puzzle text = Puzzle.load("src/main/resources/helper.txt");
+        Puzzle loaded = Puzzle.load(binary.toString());
+        assertTrue(BinaryPuzzle.isBinary(binary));
+        assertArrayEquals(text.grid().cells(), loaded.grid().cells());
+        assertEquals(text.words(), loaded.words());
+        assertEquals(new Solver().solve(text), new Solver().solve(loaded));
+    }
+
+    @Test
+    public void testDecodeKeepsBlankCellsAndUnicodeWords() {
+        Grid grid = Grid.of(new char[][]{{'A', 'b'}, {'C', 'D'}});
+        Puzzle puzzle = new Puzzle(grid, Arrays.asList("AC", "\u00C9T\u00C9"));
+        ByteBuffer encoded = BinaryPuzzle.encode(puzzle);
+        Puzzle decoded = BinaryPuzzle.decode(encoded);
+        assertEquals(0, encoded.position());
+        assertArrayEquals(grid.cells(), decoded.grid().cells());
+        assertEquals(puzzle.words(), decoded.words());
+    }
+
+    @Test
+    public void testDecodeRejectsDamagedInput() {
+        Puzzle puzzle = new Puzzle(Grid.of(new char[][]{{'A', 'B'}, {'C', 'D'}}), Arrays.asList("AB", "CD"));
+        byte[] bytes = BinaryPuzzle.encode(puzzle).array();
+
+        byte[] flipped = bytes.clone();
+        flipped[21] ^= 1;
+        assertThrows(IllegalArgumentException.class, () -> BinaryPuzzle.decode(ByteBuffer.wrap(flipped)));
+        byte[] magic = bytes.clone();
+        magic[0] = 'X';
+        assertThrows(IllegalArgumentException.class, () -> BinaryPuzzle.decode(ByteBuffer.wrap(magic)));
+        byte[] version = bytes.clone();
+        version[7] = 2;
+        assertThrows(IllegalArgumentException.class, () -> BinaryPuzzle.decode(ByteBuffer.wrap(version)));
+        assertThrows(IllegalArgumentException.class,
+                () -> BinaryPuzzle.decode(ByteBuffer.wrap(Arrays.copyOf(bytes, bytes.length - 3))));
+    }
+
+    @Test
+    public void testDecodeRejectsInvalidCellsWithValidCrc() {
+        Puzzle puzzle = new Puzzle(Grid.of(new char[][]{{'A', 'B'}, {'C', 'D'}}), Arrays.asList("AB", "CD"));
+        byte[] bytes = BinaryPuzzle.encode(puzzle).array();
+        for (int code : new int[]{Grid.BORDER, 0x80, 0xff}) {
+            byte[] edited = bytes.clone();
+            edited[20 + 3] = (byte) code;
+            CRC32 crc = new CRC32();
+            crc.update(edited, 0, edited.length - 4);
+            ByteBuffer.wrap(edited).putInt(edited.length - 4, (int) crc.getValue());
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                    () -> BinaryPuzzle.decode(ByteBuffer.wrap(edited)));
+            assertTrue(e.getMessage().startsWith("Binary puzzle is corrupt"), e.getMessage());
+        }
+    }
+
+    @Test
+    public void testReadWithTextFile(@TempDir Path directory) throws IOException {
+        Path file = Files.copy(Paths.get("src/main/resources/sample_input.txt"), directory.resolve("a.wspz"));
+        assertThrows(IllegalArgumentException.class, () -> BinaryPuzzle.read(file));
+    }
+}
@@ -0,0 +1,50 @@
+import org.junit.jupiter.api.Test;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BitParallelSearchTest {
+
+    @Test
+    public void testDirectionLinesCoverEveryCell() {
+        Grid grid = Grid.of(new char[][]{
+                {'A', 'B', 'C'},
+                {'D', 'E', 'F'}
+        });
+        DirectionLines lines = grid.lines();
+        assertSame(lines, grid.lines());
+        assertEquals(2 + 3 + 4 + 4, lines.count());
+        assertEquals(4 * 6, lines.start(lines.count()));
+        assertEquals(grid.index(1, 0), lines.firstCell(5));
+        assertEquals(7, lines.direction(5));
+        assertEquals(1, lines.start(6) - lines.start(5));
+    }
+
+    @Test
+    public void testSearchWordWithSampleGrid() {
+        Grid grid = TestPuzzles.readmeGrid();
+        assertEquals("HELLO 0:0 4:4", BitParallelSearch.searchWord(grid, "HELLO"));
+        assertEquals("GOOD 4:0 4:3", BitParallelSearch.searchWord(grid, "GOOD"));
+        assertEquals("bye 1:3 1:1", BitParallelSearch.searchWord(grid, "bye"));
+        assertEquals("OLLEH 4:4 0:0", BitParallelSearch.searchWord(grid, "OLLEH"));
+        assertEquals("B-Y doesn't exist in the grid", BitParallelSearch.searchWord(grid, "B-Y"));
+        assertThrows(IllegalArgumentException.class, () -> BitParallelSearch.searchWord(grid, "BURGER"));
+    }
+
+    @Test
+    public void testSearchMatchesSearchWordOnRandomGrids() {
+        Random random = new Random(9);
+        BitParallelSearch search = new BitParallelSearch();
+        WordBuffer buffer = new WordBuffer();
+        for (int round = 0; round < 60; round++) {
+            int rows = 1 + random.nextInt(round < 50 ? 12 : 80);
+            int columns = 1 + random.nextInt(round < 50 ? 12 : 80);
+            char[][] chars = TestPuzzles.randomChars(random, rows, columns, 2);
+            Grid grid = Grid.of(chars);
+            for (String word : TestPuzzles.randomWords(random, 30, Math.max(rows, columns), 2)) {
+                String expected = WordSearch.searchWord(chars, word);
+                long match = search.find(grid, buffer.set(word));
+                assertEquals(expected, WordSearch.formatResult(word, columns, match));
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+import org.junit.jupiter.api.Test;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+class GridTest {
+
+    @Test
+    public void testOfWithLowerCaseCharacters() {
+        char[][] chars = {
+                {'H', 'a', 'S'},
+                {'G', 'E', '1'}
+        };
+        Grid grid = Grid.of(chars);
+        assertEquals(2, grid.rows());
+        assertEquals(3, grid.columns());
+        assertEquals('H', grid.letterAt(0, 0));
+        assertEquals(' ', grid.letterAt(0, 1));
+        assertEquals(' ', grid.letterAt(1, 2));
+        assertEquals(Grid.BLANK, grid.cells()[grid.index(0, 1)]);
+    }
+
+    @Test
+    public void testBorderSurroundsGrid() {
+        Grid grid = Grid.of(new char[][]{{'A', 'B', 'C'}, {'D', 'E', 'F'}, {'G', 'H', 'I'}});
+        byte[] cells = grid.cells();
+        for (int direction = 0; direction < WordSearch.ROW_OFFSETS.length; direction++) {
+            assertEquals(Grid.BORDER, cells[grid.index(1, 1) + grid.step(direction) * 2]);
+        }
+        assertEquals(Grid.BORDER, cells[grid.index(0, 3)]);
+        assertEquals(Grid.BORDER, cells[grid.index(-1, 0)]);
+        assertEquals(Grid.BORDER, cells[grid.index(3, 1)]);
+    }
+
+    @Test
+    public void testInvalidGridSize() {
+        assertThrows(IllegalArgumentException.class, () -> new Grid(0, 5));
+        assertThrows(IllegalArgumentException.class, () -> new Grid(5, -1));
+    }
+
+    @Test
+    public void testWordExistsStopsAtBorder() {
+        Grid grid = Grid.of(new char[][]{{'A', 'B', 'C'}});
+        assertTrue(WordSearch.wordExists(grid, "ABC", 0, 0, 0, 1, 3, 0));
+        assertFalse(WordSearch.wordExists(grid, "BCA", 0, 1, 0, 1, 3, 0));
+        assertFalse(WordSearch.wordExists(grid, "AB", 0, 0, 1, 1, 2, 0));
+        assertTrue(WordSearch.wordExists(grid, "cba", 0, 2, 0, -1, 3, 0));
+    }
+
+    @Test
+    public void testSearchWordMatchesCharacterGrid() {
+        Random random = new Random(7);
+        for (int round = 0; round < 50; round++) {
+            int rows = 1 + random.nextInt(10);
+            int columns = 1 + random.nextInt(10);
+            char[][] chars = TestPuzzles.randomChars(random, rows, columns, 3);
+            Grid grid = Grid.of(chars);
+            assertArrayEquals(chars, grid.toCharArray());
+            for (String word : TestPuzzles.randomWords(random, 20, Math.max(rows, columns), 3)) {
+                String lowerCase = word.toLowerCase();
+                assertEquals(WordSearch.searchWord(chars, lowerCase), WordSearch.searchWord(grid, lowerCase));
+            }
+        }
+    }
+
+    @Test
+    public void testFingerprintAndSameLetters() {
+        Grid grid = Grid.of(new char[][]{{'A', 'B'}, {'C', 'D'}});
+        Grid same = Grid.of(new char[][]{{'A', 'B'}, {'C', 'D'}});
+        Grid other = Grid.of(new char[][]{{'A', 'B'}, {'D', 'C'}});
+        Grid wide = Grid.of(new char[][]{{'A', 'B', 'C', 'D'}});
+        assertEquals(grid.fingerprint(), same.fingerprint());
+        assertNotEquals(grid.fingerprint(), other.fingerprint());
+        assertNotEquals(grid.fingerprint(), wide.fingerprint());
+        assertTrue(grid.sameLetters(same));
+        assertFalse(grid.sameLetters(other));
+        assertFalse(grid.sameLetters(wide));
+    }
+}
@@ -0,0 +1,59 @@
+import org.junit.jupiter.api.Test;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+class IncrementalSearchTest {
+
+    @Test
+    public void testSetCellUpdatesResults() {
+        Grid grid = TestPuzzles.readmeGrid();
+        IncrementalSearch search = new IncrementalSearch(grid, Arrays.asList("HELLO", "GOOD", "BYE"));
+        assertEquals(Arrays.asList("HELLO 0:0 4:4", "GOOD 4:0 4:3", "BYE 1:3 1:1"), search.results());
+        assertEquals(0, search.repeatedWords());
+
+        search.setCell(2, 2, 'X');
+        assertEquals("HELLO doesn't exist in the grid", search.results().get(0));
+        assertEquals('L', grid.letterAt(2, 2));
+        search.setCell(2, 2, 'L');
+        assertEquals("HELLO 0:0 4:4", search.results().get(0));
+
+        search.setCell(0, 1, 'G');
+        search.setCell(0, 2, 'O');
+        search.setCell(0, 3, 'O');
+        search.setCell(0, 4, 'D');
+        assertEquals(2, search.occurrences(1));
+        assertEquals("GOOD 0:1 0:4", search.results().get(1));
+        assertEquals(1, search.repeatedWords());
+        assertThrows(IllegalArgumentException.class, () -> search.setCell(5, 0, 'A'));
+    }
+
+    @Test
+    public void testRandomEditsMatchFullSearch() {
+        Random random = new Random(16);
+        for (int round = 0; round < 10; round++) {
+            int rows = 1 + random.nextInt(12);
+            int columns = 1 + random.nextInt(12);
+            char[][] chars = TestPuzzles.randomChars(random, rows, columns, 3);
+            List<String> words = TestPuzzles.randomWords(random, 30, Math.min(5, Math.max(rows, columns)), 3);
+
+            IncrementalSearch search = new IncrementalSearch(Grid.of(chars), words);
+            for (int edit = 0; edit < 50; edit++) {
+                int row = random.nextInt(rows);
+                int column = random.nextInt(columns);
+                chars[row][column] = (char) ('A' + random.nextInt(3));
+                search.setCell(row, column, chars[row][column]);
+
+                Grid grid = Grid.of(chars);
+                int[] counts = new int[words.size()];
+                new TrieSearch(words).findAll(grid, (id, startRow, startColumn, endRow, endColumn, direction) ->
+                        counts[id]++);
+                for (int id = 0; id < words.size(); id++) {
+                    assertEquals(WordSearch.searchWord(grid, words.get(id)), search.results().get(id));
+                    assertEquals(counts[id], search.occurrences(id));
+                }
+            }
+        }
+    }
+}
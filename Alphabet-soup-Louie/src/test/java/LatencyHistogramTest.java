@@ -0,0 +1,33 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    public void testPercentilesAreWithinBucketError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.percentile(50));
+        for (long value = 1; value <= 100000; value++) {
+            histogram.record(value * 1000);
+        }
+        assertEquals(100000, histogram.count());
+        assertEquals(100000000, histogram.max());
+        long p50 = histogram.percentile(50);
+        long p99 = histogram.percentile(99);
+        assertTrue(p50 >= 50000000 && p50 <= 50000000 * 1.0625, Long.toString(p50));
+        assertTrue(p99 >= 99000000 && p99 <= 100000000, Long.toString(p99));
+        assertEquals(100000000, histogram.percentile(100));
+    }
+
+    @Test
+    public void testSmallAndExtremeValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        histogram.record(3);
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(0, histogram.percentile(0));
+        assertEquals(3, histogram.percentile(60));
+        assertEquals(Long.MAX_VALUE, histogram.percentile(100));
+        assertThrows(IllegalArgumentException.class, () -> histogram.percentile(101));
+    }
+}
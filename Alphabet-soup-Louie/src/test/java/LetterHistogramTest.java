@@ -0,0 +1,50 @@
+import org.junit.jupiter.api.Test;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+class LetterHistogramTest {
+    private static final Grid GRID = TestPuzzles.readmeGrid();
+
+    @Test
+    public void testLineMaximums() {
+        LetterHistogram histogram = GRID.letterHistogram();
+        assertSame(histogram, GRID.letterHistogram());
+        assertEquals(3, histogram.lineMaximum(0, 'O' - 'A'));
+        assertEquals(1, histogram.lineMaximum(1, 'O' - 'A'));
+        assertEquals(2, histogram.lineMaximum(2, 'L' - 'A'));
+        assertEquals(1, histogram.lineMaximum(3, 'B' - 'A'));
+        assertEquals(0, histogram.lineMaximum(0, 'W' - 'A'));
+    }
+
+    @Test
+    public void testMayContain() {
+        LetterHistogram histogram = GRID.letterHistogram();
+        WordBuffer buffer = new WordBuffer();
+        assertTrue(histogram.mayContain(buffer.set("HELLO")));
+        assertTrue(histogram.mayContain(buffer.set("goood")));
+        assertFalse(histogram.mayContain(buffer.set("WORD")));
+        assertFalse(histogram.mayContain(buffer.set("OOOO")));
+        assertFalse(histogram.mayContain(buffer.set("LLL")));
+        assertFalse(histogram.mayContain(buffer.set("H-E")));
+        assertArrayEquals(new int[26], buffer.letterCounts());
+    }
+
+    @Test
+    public void testNeverRejectsWordsInTheGrid() {
+        Random random = new Random(18);
+        for (int round = 0; round < 30; round++) {
+            int rows = 1 + random.nextInt(10);
+            int columns = 1 + random.nextInt(10);
+            char[][] chars = TestPuzzles.randomChars(random, rows, columns, 4);
+            Grid grid = Grid.of(chars);
+            WordBuffer buffer = new WordBuffer();
+            for (String word : TestPuzzles.randomWords(random, 200, Math.max(rows, columns), 4)) {
+                String expected = WordSearch.searchWord(chars, word);
+                if (!expected.endsWith("doesn't exist in the grid")) {
+                    assertTrue(grid.letterHistogram().mayContain(buffer.set(word)), word);
+                }
+                assertEquals(expected, WordSearch.searchWord(grid, word));
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class LetterIndexTest {
+
+    @Test
+    public void testPositionsInRowMajorOrder() {
+        Grid grid = Grid.of(new char[][]{
+                {'A', 'B', 'A'},
+                {'c', 'A', 'B'}
+        });
+        LetterIndex index = grid.letterIndex();
+        assertSame(index, grid.letterIndex());
+        assertEquals(3, index.count(0));
+        assertEquals(2, index.count(1));
+        assertEquals(0, index.count(2));
+        int[] positions = index.positions();
+        assertEquals(grid.index(0, 0), positions[index.start(0)]);
+        assertEquals(grid.index(0, 2), positions[index.start(0) + 1]);
+        assertEquals(grid.index(1, 1), positions[index.start(0) + 2]);
+        assertEquals(grid.index(0, 1), positions[index.start(1)]);
+        assertEquals(grid.index(1, 2), positions[index.end(1) - 1]);
+    }
+
+    @Test
+    public void testSeek() {
+        Grid grid = Grid.of(new char[][]{
+                {'A', 'B', 'A'},
+                {'C', 'A', 'B'}
+        });
+        LetterIndex index = grid.letterIndex();
+        assertEquals(index.start(0), index.seek(0, 0));
+        assertEquals(index.start(0) + 1, index.seek(0, grid.index(0, 1)));
+        assertEquals(index.start(0) + 2, index.seek(0, grid.index(1, 0)));
+        assertEquals(index.end(0), index.seek(0, grid.index(2, 0)));
+        assertEquals(index.end(25), index.seek(25, 0));
+    }
+
+    @Test
+    public void testFindWordInRowBands() {
+        Grid grid = TestPuzzles.readmeGrid();
+        WordBuffer buffer = new WordBuffer().set("BYE");
+        assertEquals(-1, WordSearch.findWord(grid, buffer, 0, 1));
+        assertEquals((1L * 5 + 3) << 3, WordSearch.findWord(grid, buffer, 1, 2));
+        buffer.set("GOOD");
+        assertEquals(-1, WordSearch.findWord(grid, buffer, 0, 4));
+        assertEquals((4L * 5) << 3 | 1, WordSearch.findWord(grid, buffer, 2, 5));
+    }
+}
@@ -0,0 +1,57 @@
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Solves large generated puzzles, checks every answer and fails if the solver is slower than a floor. The measured
+ * throughput is published to the JUnit reporter. These tests are only run by the load profile: mvn test -Pload.
+ */
+@Tag("load")
+class LoadTest {
+    private static final int SIZE = Integer.getInteger("wordsearch.load.size", 2000);
+    private static final long MIN_CELLS_PER_SECOND = Long.getLong("wordsearch.load.minCellsPerSecond", 1_000_000);
+    private static final int WORDS = 2000;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testSolverThroughput(TestReporter reporter) throws IOException {
+        PuzzleGenerator.Generated generated = new PuzzleGenerator(SIZE).generate(SIZE, SIZE, WORDS, WORDS);
+        Path file = directory.resolve("load.txt");
+        PuzzleGenerator.write(file, generated.puzzle());
+
+        Solver solver = new Solver();
+        solver.solve(Puzzle.load(file.toString()));
+        long start = System.nanoTime();
+        List<String> outputs = solver.solve(Puzzle.load(file.toString()));
+        long nanos = System.nanoTime() - start;
+        assertEquals(generated.answers(), outputs);
+
+        double cellsPerSecond = (double) SIZE * SIZE * 1e9 / nanos;
+        Map<String, String> entries = new LinkedHashMap<>();
+        entries.put("grid", SIZE + "x" + SIZE);
+        entries.put("words", String.valueOf(outputs.size()));
+        entries.put("seconds", String.format("%.3f", nanos / 1e9));
+        entries.put("cellsPerSecond", String.valueOf((long) cellsPerSecond));
+        reporter.publishEntry(entries);
+        assertTrue(cellsPerSecond >= MIN_CELLS_PER_SECOND, "Throughput " + (long) cellsPerSecond
+                + " cells/sec is below the floor of " + MIN_CELLS_PER_SECOND);
+    }
+
+    @Test
+    public void testTiledSearch() throws IOException {
+        int size = SIZE / 2;
+        PuzzleGenerator.Generated generated = new PuzzleGenerator(size).generate(size, size, WORDS, WORDS);
+        Path file = directory.resolve("tiled.txt");
+        PuzzleGenerator.write(file, generated.puzzle());
+        assertEquals(generated.answers(), new TiledSearch((long) size * size / 8).solve(file));
+    }
+}
@@ -0,0 +1,50 @@
+import org.junit.jupiter.api.Test;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelSearchTest {
+
+    @Test
+    public void testSearchWithSampleGrid() {
+        Grid grid = TestPuzzles.readmeGrid();
+        try (ParallelSearch search = new ParallelSearch(3)) {
+            assertEquals(3, search.parallelism());
+            assertEquals(Arrays.asList("HELLO 0:0 4:4", "GOOD 4:0 4:3", "BYE 1:3 1:1"),
+                    search.search(grid, Arrays.asList("HELLO", "GOOD", "BYE")));
+        }
+    }
+
+    @Test
+    public void testEverySplitMatchesCharacterGridSearch() {
+        Random random = new Random(11);
+        try (ParallelSearch search = new ParallelSearch(4)) {
+            for (int round = 0; round < 20; round++) {
+                char[][] chars = TestPuzzles.randomChars(random, 1 + random.nextInt(30), 1 + random.nextInt(30), 3);
+                Grid grid = Grid.of(chars);
+                List<String> words = TestPuzzles.randomWords(random, 300, Math.min(6, Math.max(grid.rows(),
+                        grid.columns())), 3);
+                long[] byWord = search.findByWord(grid, words);
+                long[] byRows = search.findByRows(grid, words);
+                long[] byTrie = search.findByTrie(grid, words);
+                for (int id = 0; id < words.size(); id++) {
+                    String expected = WordSearch.searchWord(chars, words.get(id));
+                    assertEquals(expected, WordSearch.formatResult(words.get(id), grid.columns(), byWord[id]));
+                    assertEquals(expected, WordSearch.formatResult(words.get(id), grid.columns(), byRows[id]));
+                    assertEquals(expected, WordSearch.formatResult(words.get(id), grid.columns(), byTrie[id]));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSearchWithLongerHiddenWordLength() {
+        Grid grid = Grid.of(new char[][]{{'B', 'U', 'R'}});
+        try (ParallelSearch search = new ParallelSearch(2)) {
+            assertThrows(IllegalArgumentException.class, () -> search.findByRows(grid, Arrays.asList("BU", "BURGER")));
+            assertThrows(IllegalArgumentException.class, () -> search.findByWord(grid, Arrays.asList("BU", "BURGER")));
+            assertThrows(IllegalArgumentException.class, () -> search.findByTrie(grid, Arrays.asList("BU", "BURGER")));
+        }
+    }
+}
@@ -0,0 +1,71 @@
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PatternSearchTest {
+    private static final Grid GRID = Grid.of(new char[][]{
+            {'C', 'A', 'T', 'D', 'F'},
+            {'O', 'E', 'Y', 'B', 'H'},
+            {'T', 'U', 'C', 'Z', 'X'},
+            {'C', 'O', 'T', 'L', 'N'},
+            {'G', 'O', 'O', 'D', 'O'}
+    });
+
+    @Test
+    public void testLetterSetsAndWildcards() {
+        assertEquals("C[AO]T 0:0 0:2", new PatternSearch("C[AO]T").search(GRID));
+        assertEquals("c[ao]t 0:0 0:2", new PatternSearch("c[ao]t").search(GRID));
+        assertEquals("C?T 0:0 0:2", new PatternSearch("C?T").search(GRID));
+        assertEquals("[XY]OT doesn't exist in the grid", new PatternSearch("[XY]OT").search(GRID));
+        assertEquals("T[U]C 2:0 2:2", new PatternSearch("T[U]C").search(GRID));
+        assertEquals("G??D 4:0 4:3", new PatternSearch("G??D").search(GRID));
+    }
+
+    @Test
+    public void testCountsEveryMatch() {
+        List<String> found = new ArrayList<>();
+        int count = new PatternSearch("C[AOU]T").findAll(GRID, 7, (id, startRow, startColumn, endRow, endColumn,
+                direction) -> {
+            assertEquals(7, id);
+            found.add(startRow + ":" + startColumn + " " + endRow + ":" + endColumn);
+        });
+        Collections.sort(found);
+        assertEquals(List.of("0:0 0:2", "0:0 2:0", "2:2 2:0", "3:0 3:2"), found);
+        assertEquals(4, count);
+    }
+
+    @Test
+    public void testInvalidPatterns() {
+        assertThrows(IllegalArgumentException.class, () -> new PatternSearch(""));
+        assertThrows(IllegalArgumentException.class, () -> new PatternSearch("C[AO"));
+        assertThrows(IllegalArgumentException.class, () -> new PatternSearch("C[]T"));
+        assertThrows(IllegalArgumentException.class, () -> new PatternSearch("C*T"));
+        assertThrows(IllegalArgumentException.class, () -> new PatternSearch("C??????").search(GRID));
+        assertEquals(3, new PatternSearch("C[AO]T").length());
+    }
+
+    @Test
+    public void testMatchesWordSearch() {
+        Random random = new Random(20);
+        for (int round = 0; round < 30; round++) {
+            int rows = 1 + random.nextInt(10);
+            int columns = 1 + random.nextInt(10);
+            Grid grid = Grid.of(TestPuzzles.randomChars(random, rows, columns, 3));
+            List<String> words = new ArrayList<>(new LinkedHashSet<>(TestPuzzles.randomWords(random, 50,
+                    Math.max(rows, columns), 3)));
+            int[] expected = new int[words.size()];
+            new TrieSearch(words).findAll(grid, (id, startRow, startColumn, endRow, endColumn, direction) ->
+                    expected[id]++);
+            for (int id = 0; id < words.size(); id++) {
+                String word = words.get(id);
+                PatternSearch pattern = new PatternSearch(word);
+                assertEquals(WordSearch.searchWord(grid, word), pattern.search(grid), word);
+                assertEquals(expected[id], pattern.findAll(grid, id, (i, sr, sc, er, ec, d) -> { }), word);
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PuzzleGeneratorTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testAnswersMatchSolver() throws IOException {
+        PuzzleGenerator.Generated generated = new PuzzleGenerator(21).generate(40, 60, 200, 50);
+        Puzzle puzzle = generated.puzzle();
+        assertTrue(puzzle.words().size() > 150);
+        assertEquals(generated.answers(), new Solver().solve(puzzle));
+
+        Path file = directory.resolve("generated.txt");
+        PuzzleGenerator.write(file, puzzle);
+        Puzzle loaded = Puzzle.load(file.toString());
+        assertArrayEquals(puzzle.grid().toCharArray(), loaded.grid().toCharArray());
+        assertEquals(puzzle.words(), loaded.words());
+        assertEquals(generated.answers(), new Solver().solve(loaded));
+    }
+
+    @Test
+    public void testPlantsInEveryDirection() {
+        PuzzleGenerator.Generated generated = new PuzzleGenerator(7, 4, 6).generate(20, 20, 80, 10);
+        Set<Integer> directions = new HashSet<>();
+        int missing = 0;
+        for (String answer : generated.answers()) {
+            if (answer.endsWith("doesn't exist in the grid")) {
+                missing++;
+                continue;
+            }
+            String[] parts = answer.split("[ :]");
+            int rowOffset = Integer.signum(Integer.parseInt(parts[3]) - Integer.parseInt(parts[1]));
+            int columnOffset = Integer.signum(Integer.parseInt(parts[4]) - Integer.parseInt(parts[2]));
+            directions.add(rowOffset * 3 + columnOffset);
+        }
+        assertEquals(8, directions.size());
+        assertTrue(missing > 0);
+        assertEquals(generated.answers(), new Solver().solve(generated.puzzle()));
+    }
+
+    @Test
+    public void testSameSeedSamePuzzle() {
+        PuzzleGenerator.Generated first = new PuzzleGenerator(3).generate(20, 20, 30, 10);
+        PuzzleGenerator.Generated second = new PuzzleGenerator(3).generate(20, 20, 30, 10);
+        assertArrayEquals(first.puzzle().grid().toCharArray(), second.puzzle().grid().toCharArray());
+        assertEquals(first.answers(), second.answers());
+        assertNotEquals(first.answers(), new PuzzleGenerator(4).generate(20, 20, 30, 10).answers());
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new PuzzleGenerator(1, 1, 5));
+        assertThrows(IllegalArgumentException.class, () -> new PuzzleGenerator(1, 6, 5));
+        assertThrows(IllegalArgumentException.class, () -> new PuzzleGenerator(1).generate(0, 5, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new PuzzleGenerator(1).generate(5, 5, -1, 1));
+    }
+
+    @Test
+    public void testRejectsMoreWordsThanTheGridFits() {
+        assertThrows(IllegalArgumentException.class, () -> new PuzzleGenerator(7).generate(1, 1, 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new PuzzleGenerator(7).generate(1, 2, 700, 0));
+        assertThrows(IllegalArgumentException.class, () -> new PuzzleGenerator(7).generate(1, 2, 600, 51));
+        PuzzleGenerator.Generated generated = new PuzzleGenerator(7).generate(1, 2, 1, 649);
+        assertEquals(generated.answers(), new Solver().solve(generated.puzzle()));
+    }
+}
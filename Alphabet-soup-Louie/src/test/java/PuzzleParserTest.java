@@ -0,0 +1,78 @@
+import org.junit.jupiter.api.Test;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PuzzleParserTest {
+    private final PuzzleParser parser = new PuzzleParser();
+
+    private Puzzle parse(String input) throws IOException {
+        return parser.parse(Channels.newChannel(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Test
+    public void testParseWithValidFile() throws IOException {
+        Puzzle puzzle = parser.parse(Paths.get("src/main/resources/sample_input.txt"));
+        assertEquals(Arrays.asList("HELLO", "GOOD", "BYE"), puzzle.words());
+        assertArrayEquals(new char[]{'G', 'O', 'O', 'D', 'O'}, puzzle.grid().toCharArray()[4]);
+    }
+
+    @Test
+    public void testParseWithLowerCaseAndWindowsLineEndings() throws IOException {
+        Puzzle puzzle = parse("2x3\r\na b c\r\nD E F \r\nabc\r\nFED");
+        assertArrayEquals(new char[][]{{'A', 'B', 'C'}, {'D', 'E', 'F'}}, puzzle.grid().toCharArray());
+        assertEquals(Arrays.asList("abc", "FED"), puzzle.words());
+    }
+
+    @Test
+    public void testParseReportsPositions() {
+        IllegalArgumentException e = assertThrows(NumberFormatException.class, () -> parse("5xFive\nA\n"));
+        assertTrue(e.getMessage().startsWith("Line 1, column 3:"), e.getMessage());
+        e = assertThrows(IllegalArgumentException.class, () -> parse("2x3\nA B C\nD 1 F\nABC\n"));
+        assertTrue(e.getMessage().startsWith("Line 3, column 3:"), e.getMessage());
+        e = assertThrows(IllegalArgumentException.class, () -> parse("2x3\nA B C\nD E\nABC\n"));
+        assertTrue(e.getMessage().startsWith("Line 3, column 4:"), e.getMessage());
+        e = assertThrows(IllegalArgumentException.class, () -> parse("2x3\nA B C D\nD E F\nABC\n"));
+        assertTrue(e.getMessage().startsWith("Line 2, column 7:"), e.getMessage());
+        e = assertThrows(IllegalArgumentException.class, () -> parse("2x3\nA B C\n"));
+        assertTrue(e.getMessage().startsWith("Line 3, column 0:"), e.getMessage());
+    }
+
+    @Test
+    public void testParseWithInvalidInput() {
+        assertThrows(IllegalArgumentException.class, () -> parse("0x5\nA\n"));
+        assertThrows(NumberFormatException.class, () -> parse("5x\nA\n"));
+        assertThrows(NumberFormatException.class, () -> parse("99999999999x5\nA\n"));
+        assertThrows(IllegalArgumentException.class, () -> parse("1x2\nA B\n\n"));
+        assertThrows(IllegalArgumentException.class, () -> parse(""));
+    }
+
+    @Test
+    public void testParseRejectsRowsThatAreNotOneLetterPerColumn() {
+        assertThrows(IllegalArgumentException.class, () -> parse("1x2\nAB C\nAB\n"));
+        assertThrows(IllegalArgumentException.class, () -> parse("1x2\nA B C\nAB\n"));
+        assertThrows(IllegalArgumentException.class, () -> parse("1x2\nA  B\nAB\n"));
+        assertThrows(IllegalArgumentException.class, () -> parse("1x2\nA \u00C9\nAB\n"));
+    }
+
+    @Test
+    public void testParseLargeGrid() throws IOException {
+        int rows = 300;
+        int columns = 700;
+        char[][] expected = TestPuzzles.random(rows, columns, 5).toCharArray();
+        StringBuilder input = new StringBuilder(rows + "x" + columns + "\n");
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                input.append(expected[i][j]).append(j + 1 < columns ? " " : "\n");
+            }
+        }
+        input.append("WORD\nSEARCH\n");
+        Puzzle parsed = parse(input.toString());
+        assertArrayEquals(expected, parsed.grid().toCharArray());
+        assertEquals(Arrays.asList("WORD", "SEARCH"), parsed.words());
+    }
+}
@@ -0,0 +1,53 @@
+import org.junit.jupiter.api.Test;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PuzzleTest {
+
+    private static Puzzle read(String input) throws IOException {
+        return new PuzzleParser().parse(Channels.newChannel(new ByteArrayInputStream(
+                input.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Test
+    public void testLoadWithValidFile() throws IOException {
+        Puzzle puzzle = Puzzle.load("src/main/resources/sample_input.txt");
+        assertEquals(5, puzzle.grid().rows());
+        assertEquals(5, puzzle.grid().columns());
+        assertEquals('H', puzzle.grid().letterAt(0, 0));
+        assertEquals(Arrays.asList("HELLO", "GOOD", "BYE"), puzzle.words());
+    }
+
+    @Test
+    public void testLoadWithLowerCaseGrid() throws IOException {
+        Puzzle puzzle = Puzzle.load("src/main/resources/lower_case_grid.txt");
+        assertEquals('O', puzzle.grid().letterAt(4, 4));
+    }
+
+    @Test
+    public void testReadKeepsWordOrderAndDropsRepeats() throws IOException {
+        Puzzle puzzle = read("1x3\nA B C\nCAB\n\nABC\nCAB\nBC\n");
+        assertEquals(Arrays.asList("CAB", "ABC", "BC"), puzzle.words());
+        assertThrows(UnsupportedOperationException.class, () -> puzzle.words().add("A"));
+    }
+
+    @Test
+    public void testReadWithInvalidInput() {
+        assertThrows(IllegalArgumentException.class, () -> read("0x5\nA\nA\n"));
+        assertThrows(NumberFormatException.class, () -> read("5xFive\nA\n"));
+        assertThrows(NumberFormatException.class, () -> read("55\nA\n"));
+        assertThrows(IllegalArgumentException.class, () -> read("2x2\nA B\n"));
+        assertThrows(IllegalArgumentException.class, () -> read("2x2\nA B\nC\nAB\n"));
+        assertThrows(IllegalArgumentException.class, () -> read("1x2\nA 1\nAB\n"));
+        assertThrows(IllegalArgumentException.class, () -> read("1x2\nA B\n\n"));
+    }
+
+    @Test
+    public void testLoadWithInvalidFile() {
+        assertThrows(IOException.class, () -> Puzzle.load("src/main/resources/nonexistent_file.txt"));
+    }
+}
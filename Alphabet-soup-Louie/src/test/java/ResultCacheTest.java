@@ -0,0 +1,129 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResultCacheTest {
+    private static final Grid GRID = TestPuzzles.readmeGrid();
+
+    @Test
+    public void testSearchWordCachesFoundAndMissingWords() {
+        ResultCache cache = new ResultCache(10);
+        assertEquals("HELLO 0:0 4:4", cache.searchWord(GRID, "HELLO"));
+        assertEquals("MISS doesn't exist in the grid", cache.searchWord(GRID, "MISS"));
+        assertEquals(0, cache.hits());
+        assertEquals(2, cache.misses());
+
+        assertEquals("hello 0:0 4:4", cache.searchWord(GRID, "hello"));
+        assertEquals("MISS doesn't exist in the grid", cache.searchWord(GRID, "MISS"));
+        assertEquals(2, cache.hits());
+        assertEquals(2, cache.size());
+
+        Grid other = Grid.of(new char[][]{{'H', 'E', 'L', 'L', 'O'}});
+        assertEquals("HELLO 0:0 0:4", cache.searchWord(other, "HELLO"));
+        assertEquals(3, cache.misses());
+        assertThrows(IllegalArgumentException.class, () -> cache.searchWord(GRID, "TOOLONG"));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedResultIsEvicted() {
+        ResultCache cache = new ResultCache(2);
+        cache.find(GRID, "HELLO");
+        cache.find(GRID, "GOOD");
+        cache.find(GRID, "HELLO");
+        cache.find(GRID, "BYE");
+        assertEquals(1, cache.evictions());
+        assertEquals(ResultCache.UNKNOWN, cache.get(GRID, "GOOD"));
+        assertNotEquals(ResultCache.UNKNOWN, cache.get(GRID, "HELLO"));
+        assertNotEquals(ResultCache.UNKNOWN, cache.get(GRID, "BYE"));
+    }
+
+    @Test
+    public void testSaveAndLoad(@TempDir Path directory) throws IOException {
+        ResultCache cache = new ResultCache(10);
+        cache.find(GRID, "HELLO");
+        cache.find(GRID, "MISS");
+        Path file = directory.resolve("results.cache");
+        cache.save(file);
+
+        ResultCache loaded = new ResultCache(10);
+        loaded.load(file);
+        assertEquals(2, loaded.size());
+        assertEquals(cache.get(GRID, "HELLO"), loaded.get(GRID, "HELLO"));
+        assertEquals(-1, loaded.get(GRID, "MISS"));
+
+        Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+        assertThrows(IllegalArgumentException.class, () -> loaded.load(file));
+    }
+
+    @Test
+    public void testLoadRejectsDamagedFiles(@TempDir Path directory) throws IOException {
+        ResultCache cache = new ResultCache(10);
+        cache.find(GRID, "HELLO");
+        Path file = directory.resolve("results.cache");
+        cache.save(file);
+        byte[] bytes = Files.readAllBytes(file);
+
+        ResultCache loaded = new ResultCache(10);
+        byte[] flipped = bytes.clone();
+        flipped[bytes.length - 6] ^= 1;
+        Files.write(file, flipped);
+        assertThrows(IllegalArgumentException.class, () -> loaded.load(file));
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 2));
+        assertThrows(IllegalArgumentException.class, () -> loaded.load(file));
+        assertEquals(0, loaded.size());
+
+        ByteArrayOutputStream written = new ByteArrayOutputStream();
+        CRC32 crc = new CRC32();
+        try (DataOutputStream out = new DataOutputStream(new CheckedOutputStream(written, crc))) {
+            out.writeInt(0x57535243);
+            out.writeInt(2);
+            out.writeInt(1);
+            out.writeLong(GRID.fingerprint());
+            out.writeInt(5);
+            out.writeInt(5);
+            out.writeInt(5);
+            out.write("HELLO".getBytes(StandardCharsets.UTF_8));
+            out.writeLong(25L << 3);
+            out.writeInt((int) crc.getValue());
+        }
+        Files.write(file, written.toByteArray());
+        assertThrows(IllegalArgumentException.class, () -> loaded.load(file));
+        assertEquals(0, loaded.size());
+    }
+
+    @Test
+    public void testResultsAreKeptApartByGridSize() {
+        ResultCache cache = new ResultCache(10);
+        Grid row = Grid.of(new char[][]{{'A', 'B'}});
+        Grid column = Grid.of(new char[][]{{'A'}, {'B'}});
+        assertEquals("AB 0:0 0:1", cache.searchWord(row, "AB"));
+        assertEquals("AB 0:0 1:0", cache.searchWord(column, "AB"));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testSolverOnlySearchesUncachedWords() {
+        ResultCache cache = new ResultCache(100);
+        Solver solver = new Solver(cache);
+        List<String> words = Arrays.asList("HELLO", "GOOD", "BYE");
+        Puzzle puzzle = new Puzzle(GRID, words);
+        assertEquals(Arrays.asList("HELLO 0:0 4:4", "GOOD 4:0 4:3", "BYE 1:3 1:1"), solver.solve(puzzle));
+        assertEquals(3, cache.misses());
+
+        Puzzle changed = new Puzzle(GRID, Arrays.asList("HELLO", "GOOD", "BYE", "HAS", "MISS"));
+        assertEquals(new Solver().solve(changed), solver.solve(changed));
+        assertEquals(3, cache.hits());
+        assertEquals(5, cache.misses());
+        assertEquals(5, cache.size());
+    }
+}
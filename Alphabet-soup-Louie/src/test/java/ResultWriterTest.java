@@ -0,0 +1,56 @@
+import org.junit.jupiter.api.Test;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResultWriterTest {
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+    private String output() {
+        return bytes.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testWriteMatchesFormatResult() throws IOException {
+        Puzzle puzzle = Puzzle.load("src/main/resources/helper.txt");
+        long[] matches = new Solver().find(puzzle);
+        ResultWriter writer = new ResultWriter(Channels.newChannel(bytes));
+        writer.write(puzzle, matches);
+        assertEquals("", output());
+        writer.flush();
+        assertEquals(String.join("\n", new Solver().solve(puzzle)) + "\n", output());
+    }
+
+    @Test
+    public void testWriteWithSmallBuffer() throws IOException {
+        Random random = new Random(3);
+        ResultWriter writer = new ResultWriter(Channels.newChannel(bytes), 8);
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            String word = i % 7 == 0 ? "\u00C9COLE" + i : "WORD" + i;
+            int columns = 1 + random.nextInt(100000);
+            long match = random.nextInt(4) == 0 ? -1
+                    : ((long) random.nextInt(100000) * columns + random.nextInt(columns)) << 3 | random.nextInt(8);
+            writer.writeResult(word, columns, match);
+            expected.append(WordSearch.formatResult(word, columns, match)).append('\n');
+        }
+        writer.writeLine("==> done <==");
+        writer.flush();
+        assertEquals(expected + "==> done <==\n", output());
+    }
+
+    @Test
+    public void testWriteMatchWithNegativeAndLargeNumbers() throws IOException {
+        ResultWriter writer = new ResultWriter(Channels.newChannel(bytes));
+        writer.writeMatch("A", 0, -7, Integer.MAX_VALUE, Integer.MIN_VALUE);
+        writer.writeMissing("");
+        writer.flush();
+        List<String> lines = Arrays.asList(output().split("\n"));
+        assertEquals(Arrays.asList("A 0:-7 2147483647:-2147483648", " doesn't exist in the grid"), lines);
+    }
+}
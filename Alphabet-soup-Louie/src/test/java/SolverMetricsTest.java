@@ -0,0 +1,46 @@
+import org.junit.jupiter.api.Test;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SolverMetricsTest {
+
+    @Test
+    public void testRecordedWorkIsReported() {
+        SolverMetrics metrics = SolverMetrics.get();
+        long cells = metrics.getCellsVisited();
+        long starts = metrics.getCandidateStarts();
+        long probes = metrics.getDirectionProbes();
+        long compared = metrics.getCharactersCompared();
+        long parsed = metrics.getPuzzlesParsed();
+        long errors = metrics.getParseErrors();
+
+        SolverMetrics.searched(10, 4, 32);
+        SolverMetrics.compared(7);
+        SolverMetrics.parsed(2000000, false);
+        SolverMetrics.parsed(1000, true);
+        SolverMetrics.solved(5000);
+        SolverMetrics.wordSearched(3000);
+
+        assertEquals(cells + 10, metrics.getCellsVisited());
+        assertEquals(starts + 4, metrics.getCandidateStarts());
+        assertEquals(probes + 32, metrics.getDirectionProbes());
+        assertEquals(compared + 7, metrics.getCharactersCompared());
+        assertEquals(parsed + 2, metrics.getPuzzlesParsed());
+        assertEquals(errors + 1, metrics.getParseErrors());
+        assertTrue(metrics.getParseP99Micros() >= 2000);
+        assertTrue(metrics.summary().contains("characters compared " + metrics.getCharactersCompared()));
+    }
+
+    @Test
+    public void testAttributesAreReadableThroughJmx() throws JMException {
+        MBeanServer server = MBeanServerFactory.newMBeanServer();
+        ObjectName name = new ObjectName(SolverMetrics.OBJECT_NAME);
+        server.registerMBean(SolverMetrics.get(), name);
+        SolverMetrics.searched(1, 1, 8);
+        assertEquals(SolverMetrics.get().getCandidateStarts(), server.getAttribute(name, "CandidateStarts"));
+        assertNotNull(server.getAttribute(name, "WordP99Micros"));
+    }
+}
@@ -0,0 +1,117 @@
+import org.junit.jupiter.api.Test;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SolverServerTest {
+    private static final String GRID = TestPuzzles.readmeText();
+
+    private static String[] serve(SolverServer server, String input) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        server.serve(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), out);
+        return out.toString(StandardCharsets.UTF_8).split("\n");
+    }
+
+    @Test
+    public void testServeAnswersEachRequest() throws IOException {
+        SolverServer server = new SolverServer();
+        String[] lines = serve(server, GRID + "HELLO\n.\n" + GRID + "GOOD\nBYE\n.\r\n5xFive\nA\n.\n");
+
+        assertEquals("HELLO 0:0 4:4", lines[0]);
+        assertTrue(lines[1].startsWith("# latency "), lines[1]);
+        assertTrue(lines[1].endsWith(", 1 requests"), lines[1]);
+        assertEquals(".", lines[2]);
+        assertEquals("GOOD 4:0 4:3", lines[3]);
+        assertEquals("BYE 1:3 1:1", lines[4]);
+        assertEquals(".", lines[6]);
+        assertTrue(lines[7].startsWith("error: Line 1, column 3:"), lines[7]);
+        assertTrue(lines[8].endsWith(", 3 requests"), lines[8]);
+        assertEquals(10, lines.length);
+        assertEquals(3, server.latencies().count());
+        assertEquals(1, server.gridHits());
+        assertEquals(1, server.cachedGrids());
+    }
+
+    @Test
+    public void testInternEvictsLeastRecentlyUsedGrid() {
+        SolverServer server = new SolverServer(1024, 1024, 2);
+        Grid a = Grid.of(new char[][]{{'A'}});
+        Grid b = Grid.of(new char[][]{{'B'}});
+        Grid c = Grid.of(new char[][]{{'C'}});
+        assertSame(a, server.intern(a));
+        assertSame(b, server.intern(b));
+        assertSame(a, server.intern(Grid.of(new char[][]{{'A'}})));
+        assertSame(c, server.intern(c));
+        assertEquals(2, server.cachedGrids());
+        Grid newB = Grid.of(new char[][]{{'B'}});
+        assertSame(newB, server.intern(newB));
+        assertEquals(1, server.gridHits());
+    }
+
+    @Test
+    public void testServeAnswersRequestWithoutEndLine() throws IOException {
+        String input = new String(Files.readAllBytes(Paths.get("src/main/resources/sample_input.txt")),
+                StandardCharsets.UTF_8);
+        String[] lines = serve(new SolverServer(), input);
+        assertEquals("HELLO 0:0 4:4", lines[0]);
+        assertEquals("BYE 1:3 1:1", lines[2]);
+        assertEquals(".", lines[4]);
+        assertArrayEquals(new String[]{""}, serve(new SolverServer(), ""));
+    }
+
+    @Test
+    public void testServeRejectsRequestsOverTheLimits() throws IOException {
+        SolverServer server = new SolverServer(64, 30, 0);
+        StringBuilder large = new StringBuilder("1x1\nA\n");
+        for (int i = 0; i < 20; i++) {
+            large.append("WORD").append(i).append('\n');
+        }
+        String[] lines = serve(server, large + ".\n50000x40000\nA\n.\n" + GRID + "HELLO\n.\n");
+        assertEquals("error: Request of 136 bytes is larger than the limit of 64 bytes", lines[0]);
+        assertEquals(".", lines[2]);
+        assertEquals("error: Grid of 50000x40000 has more than 30 cells", lines[3]);
+        assertEquals("HELLO 0:0 4:4", lines[6]);
+        assertEquals(9, lines.length);
+    }
+
+    @Test
+    public void testCloseStopsListening() throws Exception {
+        SolverServer server = new SolverServer();
+        server.open(0);
+        List<IOException> failures = new CopyOnWriteArrayList<>();
+        Thread listener = new Thread(() -> {
+            try {
+                server.listen(failures::add);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        listener.start();
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.port())) {
+            socket.getOutputStream().write((GRID + "HELLO\n.\n").getBytes(StandardCharsets.UTF_8));
+            BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+                    StandardCharsets.UTF_8));
+            assertEquals("HELLO 0:0 4:4", reader.readLine());
+            server.close();
+            listener.join(10_000);
+            assertFalse(listener.isAlive());
+            assertEquals(-1, server.port());
+            reader.readLine();
+            assertEquals(".", reader.readLine());
+            assertNull(reader.readLine());
+        }
+        assertTrue(failures.isEmpty(), failures.toString());
+        assertThrows(IllegalStateException.class, () -> server.open(0));
+    }
+}
@@ -0,0 +1,88 @@
+import org.junit.jupiter.api.Test;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SolverTest {
+
+    private static Puzzle randomPuzzle(Random random) {
+        int rows = 1 + random.nextInt(20);
+        int columns = 1 + random.nextInt(20);
+        Grid grid = Grid.of(TestPuzzles.randomChars(random, rows, columns, 4));
+        int count = 1 + random.nextInt(30);
+        return new Puzzle(grid, TestPuzzles.randomWords(random, count, Math.min(5, Math.max(rows, columns)), 4));
+    }
+
+    @Test
+    public void testSolveSampleInput() throws IOException {
+        Puzzle puzzle = Puzzle.load("src/main/resources/sample_input.txt");
+        assertEquals(Arrays.asList("HELLO 0:0 4:4", "GOOD 4:0 4:3", "BYE 1:3 1:1"), new Solver().solve(puzzle));
+    }
+
+    @Test
+    public void testSolveHelperInputInFileOrder() throws IOException {
+        Puzzle puzzle = Puzzle.load("src/main/resources/helper.txt");
+        assertEquals(Arrays.asList("PICKE 9:0 5:4", "BUZZWORTHY 9:9 0:0", "BUZZ 9:9 6:6", "FIGHT 1:4 5:0",
+                "FIGHTER 8:9 2:9", "win 9:7 9:5"), new Solver().solve(puzzle));
+    }
+
+    @Test
+    public void testSolveConcurrentPuzzlesWithSharedSolver() throws Exception {
+        Random random = new Random(3);
+        List<Puzzle> puzzles = new ArrayList<>();
+        List<List<String>> expected = new ArrayList<>();
+        for (int p = 0; p < 200; p++) {
+            Puzzle puzzle = randomPuzzle(random);
+            puzzles.add(puzzle);
+            List<String> outputs = new ArrayList<>();
+            for (String word : puzzle.words()) {
+                outputs.add(WordSearch.searchWord(puzzle.grid(), word));
+            }
+            expected.add(outputs);
+        }
+
+        Solver solver = new Solver();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<List<String>>> futures = new ArrayList<>();
+            for (int round = 0; round < 20; round++) {
+                for (Puzzle puzzle : puzzles) {
+                    futures.add(executor.submit(() -> solver.solve(puzzle)));
+                }
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                assertEquals(expected.get(i % puzzles.size()), futures.get(i).get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testParallelSearchOfLargeGrid() {
+        char[][] chars = TestPuzzles.random(1024, 1024, 4).toCharArray();
+        List<String> words = Arrays.asList(new String(new char[]{chars[900][5], chars[901][6], chars[902][7]}),
+                new String(new char[]{chars[3][1000], chars[3][999], chars[3][998], chars[3][997]}), "NOTINTHEGRID");
+        Puzzle puzzle = new Puzzle(Grid.of(chars), words);
+        List<String> longList = new ArrayList<>(words);
+        Random random = new Random(4);
+        for (int w = 0; w < 200; w++) {
+            int row = random.nextInt(1020);
+            int column = random.nextInt(1020);
+            longList.add(new String(new char[]{chars[row][column], chars[row + 1][column + 1],
+                    chars[row + 2][column + 2], chars[row + 3][column + 3]}));
+        }
+        longList.addAll(TestPuzzles.randomWords(random, 50, 6, 26));
+        Puzzle longPuzzle = new Puzzle(puzzle.grid(), longList);
+        try (ParallelSearch parallel = new ParallelSearch(4)) {
+            assertEquals(new Solver().solve(puzzle), new Solver(null, parallel).solve(puzzle));
+            assertEquals(new Solver().solve(longPuzzle), new Solver(null, parallel).solve(longPuzzle));
+        }
+    }
+}
@@ -0,0 +1,105 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * This class builds the puzzles the tests share: the 5x5 grid from the README and seeded random grids and words.
+ */
+final class TestPuzzles {
+    private static final String[] README_ROWS = {"HASDF", "GEYBH", "JKLZX", "CVBLN", "GOODO"};
+
+    private TestPuzzles() {
+    }
+
+    /**
+     * @return A new copy of the README grid, in which HELLO, GOOD and BYE are hidden.
+     */
+    static char[][] readmeChars() {
+        char[][] chars = new char[README_ROWS.length][];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = README_ROWS[i].toCharArray();
+        }
+        return chars;
+    }
+
+    /**
+     * @return The README grid.
+     */
+    static Grid readmeGrid() {
+        return Grid.of(readmeChars());
+    }
+
+    /**
+     * @return The size line and rows of the README grid in the input format, without any words.
+     */
+    static String readmeText() {
+        StringBuilder text = new StringBuilder(README_ROWS.length + "x" + README_ROWS[0].length() + "\n");
+        for (String row : README_ROWS) {
+            for (int j = 0; j < row.length(); j++) {
+                text.append(j == 0 ? "" : " ").append(row.charAt(j));
+            }
+            text.append('\n');
+        }
+        return text.toString();
+    }
+
+    /**
+     * Creates a grid of random letters from the whole alphabet.
+     *
+     * @param rows Number of rows.
+     * @param columns Number of columns.
+     * @param seed Seed of the letters.
+     * @return The grid.
+     */
+    static Grid random(int rows, int columns, long seed) {
+        return Grid.of(randomChars(new Random(seed), rows, columns, 26));
+    }
+
+    /**
+     * Creates a grid of random letters from a small alphabet, so that short words are found often.
+     *
+     * @param random Source of the letters.
+     * @param rows Number of rows.
+     * @param columns Number of columns.
+     * @param letters Number of letters in the alphabet, starting from A.
+     * @return The grid.
+     */
+    static char[][] randomChars(Random random, int rows, int columns, int letters) {
+        char[][] chars = new char[rows][columns];
+        for (char[] row : chars) {
+            for (int j = 0; j < columns; j++) {
+                row[j] = (char) ('A' + random.nextInt(letters));
+            }
+        }
+        return chars;
+    }
+
+    /**
+     * @param random Source of the letters.
+     * @param maxLength Largest length of the word.
+     * @param letters Number of letters in the alphabet, starting from A.
+     * @return A word of 1 to maxLength random letters.
+     */
+    static String randomWord(Random random, int maxLength, int letters) {
+        char[] word = new char[1 + random.nextInt(maxLength)];
+        for (int k = 0; k < word.length; k++) {
+            word[k] = (char) ('A' + random.nextInt(letters));
+        }
+        return new String(word);
+    }
+
+    /**
+     * @param random Source of the letters.
+     * @param count Number of words.
+     * @param maxLength Largest length of each word.
+     * @param letters Number of letters in the alphabet, starting from A.
+     * @return Random words, which may repeat.
+     */
+    static List<String> randomWords(Random random, int count, int maxLength, int letters) {
+        List<String> words = new ArrayList<>();
+        for (int w = 0; w < count; w++) {
+            words.add(randomWord(random, maxLength, letters));
+        }
+        return words;
+    }
+}
@@ -0,0 +1,112 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TiledSearchTest {
+
+    private static String randomPuzzle(Random random, int rows, int columns, String lineBreak, boolean ragged) {
+        char[][] chars = TestPuzzles.randomChars(random, rows, columns, 3);
+        StringBuilder text = new StringBuilder(rows + "x" + columns + lineBreak);
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                text.append(j == 0 ? "" : " ").append(chars[i][j]);
+            }
+            text.append(ragged && i % 3 == 0 ? "  " : "").append(lineBreak);
+        }
+        for (String word : TestPuzzles.randomWords(random, 40, Math.min(6, Math.max(rows, columns)), 3)) {
+            text.append(word).append(lineBreak);
+        }
+        return text.toString();
+    }
+
+    @Test
+    public void testSolveMatchesSolver(@TempDir Path directory) throws IOException {
+        Random random = new Random(19);
+        for (int round = 0; round < 12; round++) {
+            Path file = directory.resolve("puzzle" + round + ".txt");
+            String lineBreak = round % 2 == 0 ? "\n" : "\r\n";
+            Files.write(file, randomPuzzle(random, 1 + random.nextInt(40), 1 + random.nextInt(20), lineBreak,
+                    round % 3 == 0).getBytes(StandardCharsets.UTF_8));
+            Puzzle puzzle = Puzzle.load(file.toString());
+            TiledSearch search = new TiledSearch(1 + random.nextInt(200));
+            assertEquals(puzzle.words(), search.words(file));
+            assertEquals(new Solver().solve(puzzle), search.solve(file));
+        }
+    }
+
+    @Test
+    public void testFindAllReportsEachOccurrenceOnce(@TempDir Path directory) throws IOException {
+        Random random = new Random(91);
+        for (int round = 0; round < 8; round++) {
+            Path file = directory.resolve("puzzle" + round + ".txt");
+            Files.write(file, randomPuzzle(random, 1 + random.nextInt(30), 1 + random.nextInt(15), "\n", false)
+                    .getBytes(StandardCharsets.UTF_8));
+            Puzzle puzzle = Puzzle.load(file.toString());
+            Set<String> expected = new HashSet<>();
+            long expectedTotal = new TrieSearch(puzzle.words()).findAll(puzzle.grid(), (id, startRow, startColumn,
+                    endRow, endColumn, direction) -> expected.add(id + " " + startRow + ":" + startColumn + " "
+                    + direction));
+
+            List<String> found = new ArrayList<>();
+            long total = new TiledSearch(30).findAll(file, (id, startRow, startColumn, endRow, endColumn, direction)
+                    -> found.add(id + " " + startRow + ":" + startColumn + " " + direction));
+            assertEquals(expectedTotal, total);
+            assertEquals(expected, new HashSet<>(found));
+            assertEquals(found.size(), new HashSet<>(found).size());
+        }
+    }
+
+    @Test
+    public void testWordsOfRaggedGridWhoseLineBreaksMatchTheGuess(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("ragged.txt");
+        Files.write(file, "3x2\nA B    \nC D\nE F\nAB\nEF\n".getBytes(StandardCharsets.UTF_8));
+        TiledSearch search = new TiledSearch();
+        assertEquals(Arrays.asList("AB", "EF"), search.words(file));
+        assertEquals(new Solver().solve(Puzzle.load(file.toString())), search.solve(file));
+    }
+
+    @Test
+    public void testWordsLongerThanTheReadBuffer(@TempDir Path directory) throws IOException {
+        Random random = new Random(7);
+        StringBuilder text = new StringBuilder("12x12\r\n");
+        for (char[] row : TestPuzzles.randomChars(random, 12, 12, 3)) {
+            text.append(String.join(" ", new String(row).split(""))).append("\r\n");
+        }
+        for (int w = 0; w < 60000; w++) {
+            text.append(TestPuzzles.randomWord(random, 11, 3)).append(w % 5 == 0 ? "\u00c9" : "").append("\r\n");
+        }
+        Path file = directory.resolve("words.txt");
+        Files.write(file, text.append("AB").toString().getBytes(StandardCharsets.UTF_8));
+        TiledSearch search = new TiledSearch(50);
+        Puzzle loaded = Puzzle.load(file.toString());
+        assertEquals(loaded.words(), search.words(file));
+        assertEquals(new Solver().solve(loaded), search.solve(file));
+    }
+
+    @Test
+    public void testSolveWithInvalidFiles(@TempDir Path directory) throws IOException {
+        TiledSearch search = new TiledSearch();
+        assertThrows(IllegalArgumentException.class,
+                () -> search.solve(Paths.get("src/main/resources/invalid_rows.txt")));
+        assertThrows(IllegalArgumentException.class,
+                () -> search.solve(Paths.get("src/main/resources/no_hidden_words.txt")));
+        assertThrows(NumberFormatException.class,
+                () -> search.solve(Paths.get("src/main/resources/non-numerical_grid_size.txt")));
+        assertThrows(IllegalArgumentException.class, () -> new TiledSearch(0));
+
+        Path file = directory.resolve("long_size_line.txt");
+        Files.write(file, "00000000000000000000000000000002x2\nA B\nC D\nAB\n".getBytes(StandardCharsets.UTF_8));
+        assertThrows(IllegalArgumentException.class, () -> search.words(file));
+    }
+}
@@ -0,0 +1,88 @@
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrieSearchTest {
+
+    @Test
+    public void testSearchWithSampleGrid() {
+        char[][] grid = TestPuzzles.readmeChars();
+        List<String> outputs = new TrieSearch(Arrays.asList("HELLO", "GOOD", "BYE", "MISS")).search(grid);
+        assertEquals(Arrays.asList("HELLO 0:0 4:4", "GOOD 4:0 4:3", "BYE 1:3 1:1", "MISS doesn't exist in the grid"),
+                outputs);
+    }
+
+    @Test
+    public void testSearchWithPrefixAndDuplicateWords() {
+        char[][] grid = {
+                {'Y','A','D','W','B','G','X','K','T','Z'},
+                {'W','H','C','V','F','N','O','I','P','J'},
+                {'E','R','T','I','A','S','G','H','T','Q'},
+                {'R','L','G','R','E','T','H','G','I','F'},
+                {'T','H','X','N','O','L','M','W','I','C'},
+                {'T','U','Y','T','R','W','Q','G','O','I'},
+                {'U','K','M','K','T','L','Z','Z','P','B'},
+                {'I','G','C','V','R','T','H','Z','X','S'},
+                {'O','I','K','Y','E','A','Z','O','U','M'},
+                {'P','C','D','R','Q','P','B','W','G','B'}
+        };
+        List<String> words = Arrays.asList("BUZZWORTHY", "BUZZ", "FIGHT", "fighter", "PICK", "BUZZ");
+        List<String> outputs = new TrieSearch(words).search(grid);
+        assertEquals(Arrays.asList("BUZZWORTHY 9:9 0:0", "BUZZ 9:9 6:6", "FIGHT 1:4 5:0", "fighter 3:9 3:3",
+                "PICK 9:0 6:3", "BUZZ 9:9 6:6"), outputs);
+    }
+
+    @Test
+    public void testSearchWithLongerHiddenWordLength() {
+        char[][] grid = {
+                {'B', 'U', 'R'},
+                {'Q', 'O', 'R'},
+                {'E', 'E', 'Y'}
+        };
+        assertThrows(IllegalArgumentException.class, () -> {
+            new TrieSearch(Arrays.asList("BUR", "BURGER")).search(grid);
+        });
+    }
+
+    @Test
+    public void testSearchMatchesSearchWordOnRandomGrids() {
+        Random random = new Random(42);
+        for (int round = 0; round < 50; round++) {
+            int rows = 1 + random.nextInt(12);
+            int columns = 1 + random.nextInt(12);
+            char[][] grid = TestPuzzles.randomChars(random, rows, columns, 4);
+            List<String> words = TestPuzzles.randomWords(random, 40, Math.max(rows, columns), 4);
+
+            List<String> outputs = new TrieSearch(words).search(grid);
+            for (int w = 0; w < words.size(); w++) {
+                assertEquals(WordSearch.searchWord(grid, words.get(w)), outputs.get(w));
+            }
+        }
+    }
+
+    @Test
+    public void testFindAllMatchesWordSearchFindAll() {
+        Random random = new Random(17);
+        for (int round = 0; round < 30; round++) {
+            int rows = 1 + random.nextInt(10);
+            int columns = 1 + random.nextInt(10);
+            Grid grid = Grid.of(TestPuzzles.randomChars(random, rows, columns, 3));
+            List<String> words = TestPuzzles.randomWords(random, 10, Math.min(4, Math.max(rows, columns)), 3);
+            List<String> expected = new ArrayList<>();
+            List<String> actual = new ArrayList<>();
+            WordSearch.findAll(grid, words, (wordId, startRow, startColumn, endRow, endColumn, direction) ->
+                    expected.add(wordId + " " + startRow + ":" + startColumn + " " + endRow + ":" + endColumn + " "
+                            + direction));
+            new TrieSearch(words).findAll(grid, (wordId, startRow, startColumn, endRow, endColumn, direction) ->
+                    actual.add(wordId + " " + startRow + ":" + startColumn + " " + endRow + ":" + endColumn + " "
+                            + direction));
+            Collections.sort(expected);
+            Collections.sort(actual);
+            assertEquals(expected, actual);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+import org.junit.jupiter.api.Test;
+import java.util.Arrays;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrigramIndexTest {
+    @Test
+    public void testListsEveryTrigram() {
+        Grid grid = Grid.of(new char[][]{
+                {'C', 'A', 'T'},
+                {'A', 'C', 'A'},
+                {'T', 'A', 'C'}
+        });
+        TrigramIndex index = grid.trigramIndex();
+        assertSame(index, grid.trigramIndex());
+        assertEquals(8, index.entries().length);
+        int cat = TrigramIndex.key('C' - 'A', 'A' - 'A', 'T' - 'A');
+        assertEquals(2, index.count(cat));
+        int[] expected = {grid.index(0, 0) << 2, grid.index(0, 0) << 2 | 1};
+        assertArrayEquals(expected, Arrays.copyOfRange(index.entries(), index.start(cat), index.end(cat)));
+        assertEquals(1, index.count(TrigramIndex.key('C' - 'A', 'C' - 'A', 'C' - 'A')));
+        assertEquals(1, index.count(TrigramIndex.key('T' - 'A', 'C' - 'A', 'T' - 'A')));
+        assertEquals(0, index.count(TrigramIndex.key('A' - 'A', 'T' - 'A', 'C' - 'A')));
+    }
+
+    @Test
+    public void testSkipsBlankCells() {
+        Grid grid = Grid.of(new char[][]{{'C', ' ', 'T', 'O', 'P'}});
+        TrigramIndex index = grid.trigramIndex();
+        assertEquals(1, index.entries().length);
+        assertEquals(1, index.count(TrigramIndex.key('T' - 'A', 'O' - 'A', 'P' - 'A')));
+    }
+}
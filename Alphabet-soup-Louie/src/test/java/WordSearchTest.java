@@ -1,8 +1,12 @@
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
 import java.util.Set;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -343,4 +347,96 @@ class WordSearchTest {
         assertEquals("FIGHT 1:4 5:0", outputs.get(3));
         assertEquals("FIGHTER 3:9 3:3", outputs.get(4));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testFindWordWithReusedBuffer() {
+        Grid grid = TestPuzzles.readmeGrid();
+        WordBuffer buffer = new WordBuffer();
+        assertEquals("HELLO 0:0 4:4", WordSearch.formatResult("HELLO", 5,
+                WordSearch.findWord(grid, buffer.set("HELLO"))));
+        assertEquals("bye 1:3 1:1", WordSearch.formatResult("bye", 5, WordSearch.findWord(grid, buffer.set("bye"))));
+        assertEquals(-1, WordSearch.findWord(grid, buffer.set("GOODS")));
+        assertEquals(-1, WordSearch.findWord(grid, buffer.set("G-O")));
+        assertThrows(IllegalArgumentException.class, () -> {
+            WordSearch.findWord(grid, buffer.set("BURGER"));
+        });
+    }
+
+    @Test
+    public void testFindWordDoesNotAllocate() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        char[][] chars = new char[50][50];
+        for (int i = 0; i < 50; i++) {
+            for (int j = 0; j < 50; j++) {
+                chars[i][j] = (char) ('A' + (i * 7 + j * 3) % 26);
+            }
+        }
+        Grid grid = Grid.of(chars);
+        String[] words = {"ADGJ", "HELLO", "ZWTQNKHEB", "QRSTUVWXYZABCDEFGHIJ"};
+        WordBuffer buffer = new WordBuffer();
+        long found = 0;
+        for (int round = 0; round < 20000; round++) {
+            found += WordSearch.findWord(grid, buffer.set(words[round % words.length]));
+        }
+
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int round = 0; round < 20000; round++) {
+            found += WordSearch.findWord(grid, buffer.set(words[round % words.length]));
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+        assertNotEquals(0, found);
+        assertEquals(0, allocated);
+    }
+
+    @Test
+    public void testFindAllReportsEveryOccurrence() {
+        Grid grid = Grid.of(new char[][]{
+                {'A', 'B', 'A'},
+                {'B', 'A', 'B'},
+                {'A', 'B', 'A'}
+        });
+        List<String> matches = new ArrayList<>();
+        MatchSink sink = (wordId, startRow, startColumn, endRow, endColumn, direction) ->
+                matches.add(wordId + " " + startRow + ":" + startColumn + " " + endRow + ":" + endColumn + " "
+                        + direction);
+
+        assertEquals(12, WordSearch.findAll(grid, new WordBuffer().set("AB"), 7, sink));
+        assertEquals(Arrays.asList("7 0:0 0:1 1", "7 0:0 1:0 3", "7 0:2 0:1 0", "7 0:2 1:2 3"), matches.subList(0, 4));
+
+        matches.clear();
+        assertEquals(8, WordSearch.findAll(grid, Arrays.asList("ABA", "C", "B"), sink));
+        assertEquals(Arrays.asList("0 0:0 0:2 1", "0 0:0 2:0 3", "0 0:2 2:2 3", "0 2:0 2:2 1",
+                "2 0:1 0:1 0", "2 1:0 1:0 0"), matches.subList(0, 6));
+    }
+
+    @Test
+    public void testFindAllMatchesBruteForceCount() {
+        Random random = new Random(21);
+        for (int round = 0; round < 30; round++) {
+            char[][] chars = TestPuzzles.randomChars(random, 1 + random.nextInt(8), 1 + random.nextInt(8), 2);
+            Grid grid = Grid.of(chars);
+            String word = TestPuzzles.randomWord(random, Math.min(4, Math.max(chars.length, chars[0].length)), 2);
+            int length = word.length();
+            Set<String> spans = new HashSet<>();
+            for (int i = 0; i < chars.length; i++) {
+                for (int j = 0; j < chars[0].length; j++) {
+                    for (int direction = 0; direction < 8; direction++) {
+                        int endRow = i + WordSearch.ROW_OFFSETS[direction] * (length - 1);
+                        int endColumn = j + WordSearch.COLUMN_OFFSETS[direction] * (length - 1);
+                        if (WordSearch.wordExists(chars, word, i, j, WordSearch.ROW_OFFSETS[direction],
+                                WordSearch.COLUMN_OFFSETS[direction], length, 0)) {
+                            int start = i * 8 + j;
+                            int end = endRow * 8 + endColumn;
+                            spans.add(Math.min(start, end) + "-" + Math.max(start, end));
+                        }
+                    }
+                }
+            }
+            int[] count = new int[1];
+            WordSearch.findAll(grid, new WordBuffer().set(word), 0,
+                    (wordId, startRow, startColumn, endRow, endColumn, direction) -> count[0]++);
+            assertEquals(spans.size(), count[0]);
+        }
+    }
+}